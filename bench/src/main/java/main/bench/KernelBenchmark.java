@@ -0,0 +1,118 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package main.bench;
+
+import es.pdsanchez.ai.ga.GeneKernels;
+import es.pdsanchez.ai.ga.RandomSource;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * GeneKernels against the per-gene loops they replace
+ *
+ * @author pdsanchez
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class KernelBenchmark {
+
+    @Param({"32", "128", "1024", "16384"})
+    public int chromosomeLength;
+
+    private RandomSource rng;
+    private int[] genes1;
+    private int[] genes2;
+    private int[] offspring;
+
+    @Setup
+    public void setup() {
+        this.rng = new RandomSource(1);
+        this.genes1 = new int[chromosomeLength];
+        this.genes2 = new int[chromosomeLength];
+        this.offspring = new int[chromosomeLength];
+        for (int i = 0; i < chromosomeLength; i++) {
+            genes1[i] = rng.nextInt(2);
+            genes2[i] = rng.nextInt(2);
+        }
+    }
+
+    @Benchmark
+    public int[] uniformBlend() {
+        GeneKernels.uniformBlend(genes1, genes2, offspring, rng);
+        return offspring;
+    }
+
+    @Benchmark
+    public int[] uniformBlendPerGene() {
+        for (int i = 0; i < chromosomeLength; i++) {
+            offspring[i] = (0.5 > rng.nextDouble()) ? genes1[i] : genes2[i];
+        }
+        return offspring;
+    }
+
+    @Benchmark
+    public int[] copyRange() {
+        GeneKernels.copyRange(genes1, offspring, 0, chromosomeLength);
+        return offspring;
+    }
+
+    @Benchmark
+    public int[] copyRangePerGene() {
+        for (int i = 0; i < chromosomeLength; i++) {
+            offspring[i] = genes1[i];
+        }
+        return offspring;
+    }
+
+    @Benchmark
+    public int count() {
+        return GeneKernels.count(genes1, 1);
+    }
+
+    @Benchmark
+    public int countPerGene() {
+        int count = 0;
+        for (int i = 0; i < chromosomeLength; i++) {
+            if (genes1[i] == 1) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
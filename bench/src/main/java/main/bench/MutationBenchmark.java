@@ -0,0 +1,96 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package main.bench;
+
+import es.pdsanchez.ai.ga.GeneticAlgorithm.ChromosomeSelector;
+import es.pdsanchez.ai.ga.GeneticAlgorithm.MutationSelector;
+import es.pdsanchez.ai.ga.GeneticAlgorithm.PopulationLayout;
+import es.pdsanchez.ai.ga.Individual;
+import es.pdsanchez.ai.ga.Population;
+import es.pdsanchez.ai.ga.RandomSource;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mutation of a random gene of a random individual, and the copy of an
+ * individual, for every chromosome type
+ *
+ * @author pdsanchez
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MutationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int populationSize;
+
+    @Param({"32", "128", "1024"})
+    public int chromosomeLength;
+
+    @Param
+    public ChromosomeSelector chromosome;
+
+    @Param
+    public MutationSelector mutation;
+
+    private RandomSource rng;
+    private Population population;
+    private Individual offspring;
+
+    @Setup
+    public void setup() {
+        this.rng = new RandomSource(1);
+        this.population = Populations.create(PopulationLayout.OBJECTS, chromosome,
+                populationSize, chromosomeLength, false, rng);
+        this.offspring = population.getIndividual(0).createEmpty();
+    }
+
+    @Benchmark
+    public Individual mutateGene() {
+        Individual individual = population.getIndividual(rng.nextInt(populationSize));
+        mutation.mutateGene(individual, rng.nextInt(chromosomeLength), rng);
+        return individual;
+    }
+
+    @Benchmark
+    public Individual copyFrom() {
+        offspring.copyFrom(population.getIndividual(rng.nextInt(populationSize)));
+        return offspring;
+    }
+}
@@ -0,0 +1,116 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package main.bench;
+
+import es.pdsanchez.ai.ga.GeneticAlgorithm;
+import es.pdsanchez.ai.ga.GeneticAlgorithm.ChromosomeSelector;
+import es.pdsanchez.ai.ga.GeneticAlgorithm.PopulationLayout;
+import es.pdsanchez.ai.ga.Individual;
+import es.pdsanchez.ai.ga.Population;
+import es.pdsanchez.ai.ga.RandomSource;
+
+/**
+ * Populations and problems shared by the benchmarks
+ *
+ * @author pdsanchez
+ */
+final class Populations {
+
+    /**
+     * Generations of every full run
+     */
+    static final int RUN_GENERATIONS = 50;
+
+    private Populations() {
+    }
+
+    /**
+     * Creates a population with random binary genes, or shuffled
+     * permutations, and random fitness values
+     *
+     * @param layout
+     * @param chromosome
+     * @param size
+     * @param chromosomeLength
+     * @param permutation true for permutations of 0 to chromosomeLength - 1
+     * @param rng
+     * @return the population, with its population fitness set
+     */
+    static Population create(PopulationLayout layout, ChromosomeSelector chromosome,
+            int size, int chromosomeLength, boolean permutation, RandomSource rng) {
+        Population population = layout.createPopulation(size, chromosomeLength, chromosome);
+        double populationFitness = 0;
+
+        for (int i = 0; i < size; i++) {
+            Individual individual = population.getIndividual(i);
+            if (permutation) {
+                for (int gene = 0; gene < chromosomeLength; gene++) {
+                    individual.setGene(gene, gene);
+                }
+                individual.shuffleChromosome(rng);
+            } else {
+                individual.randomizeBinaryChromosome(rng);
+            }
+            individual.setFitness(rng.nextDouble());
+            populationFitness += individual.getFitness();
+        }
+
+        population.setPopulationFitness(populationFitness);
+        return population;
+    }
+
+    /**
+     * @param chromosomeLength
+     * @return the all ones problem, stopping after RUN_GENERATIONS
+     */
+    static GeneticAlgorithm unos(int chromosomeLength) {
+        return new main.unos.Main(chromosomeLength) {
+            @Override
+            public boolean isTerminationConditionMet(Population population, int generationsCount) {
+                return generationsCount > RUN_GENERATIONS;
+            }
+        };
+    }
+
+    /**
+     * Configures a full run as the benchmarks measure it
+     *
+     * @param ga
+     * @param populationSize
+     * @param mode
+     * @param seed
+     * @return the genetic algorithm
+     */
+    static GeneticAlgorithm configure(GeneticAlgorithm ga, int populationSize,
+            GeneticAlgorithm.EvolutionMode mode, long seed) {
+        ga.disableLogs();
+        ga.setSeed(seed);
+        ga.setPopulationSize(populationSize);
+        ga.setMaxGenerations(RUN_GENERATIONS);
+        ga.setParentSelector(GeneticAlgorithm.ParentSelector.TOURNAMENT);
+        ga.setEvolutionMode(mode);
+        return ga;
+    }
+}
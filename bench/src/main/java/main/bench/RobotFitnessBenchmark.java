@@ -0,0 +1,101 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package main.bench;
+
+import es.pdsanchez.ai.ga.Individual;
+import es.pdsanchez.ai.ga.RandomSource;
+import main.robot.RobotController;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Fitness of RobotController: one controller, a population one by one and a
+ * population through the batch simulator, on the first maze or on all of
+ * them. The controllers are fixed by the problem to 128 genes.
+ *
+ * @author pdsanchez
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RobotFitnessBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int populationSize;
+
+    @Param({"false", "true"})
+    public boolean multiMaze;
+
+    private RandomSource rng;
+    private RobotController robotController;
+    private Individual controller;
+    private Individual[] controllers;
+
+    @Setup
+    public void setup() {
+        this.rng = new RandomSource(1);
+        this.robotController = new RobotController(128);
+        this.robotController.setMultiMaze(multiMaze);
+        this.controller = new Individual(128);
+        this.controllers = new Individual[populationSize];
+        for (int i = 0; i < populationSize; i++) {
+            controllers[i] = new Individual(128);
+            controllers[i].randomizeBinaryChromosome(rng);
+        }
+    }
+
+    @Benchmark
+    public double calcFitness() {
+        controller.randomizeBinaryChromosome(rng);
+        return robotController.calcFitness(controller);
+    }
+
+    @Benchmark
+    public double calcFitnessPopulation() {
+        for (Individual individual : controllers) {
+            robotController.calcFitness(individual);
+        }
+        return controllers[0].getFitness();
+    }
+
+    @Benchmark
+    public double calcFitnessBatch() {
+        robotController.calcFitnessBatch(controllers, 0, populationSize);
+        return controllers[0].getFitness();
+    }
+}
@@ -0,0 +1,106 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga;
+
+import java.util.Arrays;
+
+/**
+ * Population storage in two primitive arrays: every chromosome one after
+ * another in an int array (row-major by individual) and the fitness values in
+ * a double array.
+ *
+ * Genes of an individual are contiguous and individuals are next to each
+ * other, so breeding and evaluation read memory sequentially instead of
+ * following a reference per individual, and there is no object header or
+ * array header per chromosome.
+ *
+ * @author pdsanchez
+ */
+public class ArrayPopulationStorage implements PopulationStorage {
+
+    private final int[] genes;
+    private final double[] fitness;
+    private final int chromosomeLength;
+
+    /**
+     * @param size number of individuals
+     * @param chromosomeLength
+     */
+    public ArrayPopulationStorage(int size, int chromosomeLength) {
+        this.genes = new int[Math.multiplyExact(size, chromosomeLength)];
+        this.fitness = new double[size];
+        this.chromosomeLength = chromosomeLength;
+        Arrays.fill(this.fitness, -1);
+    }
+
+    @Override
+    public int size() {
+        return this.fitness.length;
+    }
+
+    @Override
+    public int getChromosomeLength() {
+        return this.chromosomeLength;
+    }
+
+    @Override
+    public int getGene(int slot, int idx) {
+        return this.genes[slot * this.chromosomeLength + idx];
+    }
+
+    @Override
+    public void setGene(int slot, int idx, int gene) {
+        this.genes[slot * this.chromosomeLength + idx] = gene;
+    }
+
+    @Override
+    public double getFitness(int slot) {
+        return this.fitness[slot];
+    }
+
+    @Override
+    public void setFitness(int slot, double fitness) {
+        this.fitness[slot] = fitness;
+    }
+
+    @Override
+    public void copyGenes(int slot, PopulationStorage source, int sourceSlot, int from, int to) {
+        if (source instanceof ArrayPopulationStorage) {
+            System.arraycopy(((ArrayPopulationStorage) source).genes, sourceSlot * this.chromosomeLength + from,
+                    this.genes, slot * this.chromosomeLength + from, to - from);
+            return;
+        }
+        for (int idx = from; idx < to; idx++) {
+            this.setGene(slot, idx, source.getGene(sourceSlot, idx));
+        }
+    }
+
+    /**
+     * @return every chromosome, one after another
+     */
+    public int[] getGenes() {
+        return this.genes;
+    }
+}
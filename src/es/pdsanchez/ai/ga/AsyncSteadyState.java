@@ -0,0 +1,304 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga;
+
+import es.pdsanchez.ai.ga.GeneticAlgorithm.ParentSelector;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Asynchronous steady state evolution of a population.
+ *
+ * Every worker thread loops on its own: it picks two parents with the
+ * ParentSelector of the genetic algorithm, breeds and evaluates a new
+ * offspring, and puts it into the slot of the worst individual of its stripe.
+ * There is no generation barrier, so a worker never waits for slower
+ * evaluations of the others.
+ *
+ * The slots are split into one stripe per worker. Only the owner of a stripe
+ * replaces its slots, and it finds the worst one with a FitnessHeap of its
+ * own, so a replacement costs O(log(n / workers)) and takes no lock. The
+ * price is that an offspring competes with the worst individual of its
+ * stripe instead of the worst of the whole population. With a single worker
+ * both are the same. The fittest individual is never lost, as it is only
+ * replaced by an offspring at least as fit. Individuals handed in by
+ * replaceWorst, as migrants, wait in a lock-free queue until a worker puts
+ * them into its stripe.
+ *
+ * Individuals are never changed once they are in a slot, so workers can read
+ * them while others replace them. Every populationSize evaluations (a
+ * generation) the thread running the genetic algorithm refreshes the
+ * Population of the run from the slots, to check the termination condition,
+ * and publishes a new population of parents. Parents are selected from it, so
+ * selectors that need the whole population, as the roulettes, work unchanged.
+ *
+ * @author pdsanchez
+ */
+class AsyncSteadyState {
+
+    private final GeneticAlgorithm ga;
+    private final Population population;
+    private final AtomicReferenceArray<Individual> slots;
+    private final Thread[] workers;
+    private final ParentSelector parentSelector;
+    private final GeneticAlgorithmMetrics metrics;
+
+    /**
+     * First slot of every stripe, and the end of the last one
+     */
+    private final int[] stripeStarts;
+
+    /**
+     * Weakest slot of every stripe on top, only used by its worker
+     */
+    private final FitnessHeap[] stripes;
+
+    /**
+     * Individuals waiting to enter the population
+     */
+    private final Queue<Individual> immigrants = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Population the workers select parents from, replaced every generation
+     */
+    private volatile Population parents;
+
+    private final AtomicLong evaluations = new AtomicLong();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final Object progress = new Object();
+    private volatile boolean stopped = false;
+    private long generationTarget = 0;
+
+    AsyncSteadyState(GeneticAlgorithm ga, Population population, int workers,
+            GeneticAlgorithmMetrics metrics) {
+        this.ga = ga;
+        this.population = population;
+        this.slots = new AtomicReferenceArray<>(population.getIndividuals());
+        // Every worker needs a stripe of at least one slot
+        this.workers = new Thread[Math.min(workers, population.size())];
+        this.parentSelector = ga.getParentSelector();
+        this.metrics = metrics;
+
+        this.stripeStarts = new int[this.workers.length + 1];
+        this.stripes = new FitnessHeap[this.workers.length];
+        for (int stripe = 0; stripe < this.stripes.length; stripe++) {
+            int start = (int) ((long) stripe * population.size() / this.stripes.length);
+            int end = (int) ((long) (stripe + 1) * population.size() / this.stripes.length);
+            this.stripeStarts[stripe] = start;
+            this.stripeStarts[stripe + 1] = end;
+            this.stripes[stripe] = new FitnessHeap(end - start, idx -> this.slots.get(start + idx).getFitness());
+        }
+        this.parents = this.snapshot(population.getPopulationFitness());
+    }
+
+    /**
+     * Starts the workers, each one with a generator split from rng
+     *
+     * @param rng random source of the thread running the genetic algorithm
+     */
+    void start(RandomSource rng) {
+        for (int i = 0; i < this.workers.length; i++) {
+            final RandomSource workerRng = rng.split();
+            final int stripe = i;
+            this.workers[i] = new Thread(() -> this.work(stripe, workerRng), "ga-async-worker-" + i);
+            this.workers[i].setDaemon(true);
+        }
+        for (Thread worker : this.workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Waits until the workers have made populationSize more evaluations and
+     * refreshes the population snapshot.
+     */
+    void awaitGeneration() {
+        this.generationTarget += this.population.size();
+
+        synchronized (this.progress) {
+            while (this.evaluations.get() < this.generationTarget && this.failure.get() == null) {
+                try {
+                    this.progress.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    this.stop();
+                    throw new IllegalStateException("Asynchronous evolution interrupted", e);
+                }
+            }
+        }
+
+        this.checkFailure();
+        this.refresh();
+    }
+
+    /**
+     * Stops the workers and leaves the final individuals in the population
+     */
+    void stop() {
+        this.stopped = true;
+        for (Thread worker : this.workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        // Once the workers are gone, the immigrants left go to the worst stripe
+        if (Thread.currentThread().isInterrupted() == false && this.stripes.length > 0) {
+            Individual immigrant;
+            while ((immigrant = this.immigrants.poll()) != null) {
+                this.offer(this.worstStripe(), immigrant);
+            }
+        }
+
+        this.checkFailure();
+        this.refresh();
+    }
+
+    /**
+     * Queues a copy of an evaluated individual. The next worker to take it
+     * puts it in the slot of the worst individual of its stripe, if it is at
+     * least as fit.
+     *
+     * @param individual
+     */
+    void replaceWorst(Individual individual) {
+        Individual copy = individual.createEmpty();
+        copy.copyFrom(individual);
+        this.immigrants.offer(copy);
+    }
+
+    private void work(int stripe, RandomSource rng) {
+        try {
+            while (this.stopped == false) {
+                Individual immigrant = this.immigrants.poll();
+                if (immigrant != null) {
+                    this.offer(stripe, immigrant);
+                }
+
+                long time = this.metrics.time();
+                Population parents = this.parents;
+                Individual parent1 = this.parentSelector.selectParent(parents, rng);
+                Individual offspring = parent1.createEmpty();
+
+                // Apply crossover to this individual?
+                if (this.ga.getCrossoverRate() > rng.nextDouble()) {
+                    Individual parent2 = this.parentSelector.selectParent(parents, rng);
+                    time = this.metrics.addSelection(time);
+                    this.ga.crossover(parent1, parent2, offspring, rng);
+                } else {
+                    time = this.metrics.addSelection(time);
+                    offspring.copyFrom(parent1);
+                }
+                time = this.metrics.addCrossover(time);
+
+                this.ga.mutateIndividual(offspring, rng);
+                time = this.metrics.addMutation(time);
+                // calcFitness may only return the fitness
+                offspring.setFitness(this.ga.evalFitness(offspring));
+                this.metrics.addEvaluation(time, 1);
+                this.offer(stripe, offspring);
+
+                // Wake up the genetic algorithm thread on every generation
+                if (this.evaluations.incrementAndGet() % this.population.size() == 0) {
+                    synchronized (this.progress) {
+                        this.progress.notifyAll();
+                    }
+                }
+            }
+        } catch (Throwable e) {
+            this.failure.compareAndSet(null, e);
+            synchronized (this.progress) {
+                this.progress.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Puts an individual in the slot of the worst one of a stripe, if it is at
+     * least as fit. Only the owner of the stripe may call it while the workers
+     * run.
+     */
+    private void offer(int stripe, Individual offspring) {
+        FitnessHeap heap = this.stripes[stripe];
+        int worstIndex = this.stripeStarts[stripe] + heap.peekWorst();
+        if (offspring.getFitness() < this.slots.get(worstIndex).getFitness()) {
+            return;
+        }
+        this.slots.set(worstIndex, offspring);
+        heap.update(worstIndex - this.stripeStarts[stripe]);
+    }
+
+    private int worstStripe() {
+        int worstStripe = 0;
+        for (int stripe = 1; stripe < this.stripes.length; stripe++) {
+            double fitness = this.slots.get(this.stripeStarts[stripe] + this.stripes[stripe].peekWorst()).getFitness();
+            double worst = this.slots.get(this.stripeStarts[worstStripe] + this.stripes[worstStripe].peekWorst()).getFitness();
+            if (fitness < worst) {
+                worstStripe = stripe;
+            }
+        }
+        return worstStripe;
+    }
+
+    private void refresh() {
+        double populationFitness = 0;
+        for (int i = 0; i < this.slots.length(); i++) {
+            Individual individual = this.slots.get(i);
+            populationFitness += individual.getFitness();
+            this.population.setIndividual(i, individual);
+        }
+        this.population.setPopulationFitness(populationFitness);
+        this.parents = this.snapshot(populationFitness);
+    }
+
+    /**
+     * Copies the individuals of the population into a new one for the
+     * workers. Whatever the selector reads lazily is built here, before the
+     * volatile write publishes it, so workers only read it.
+     *
+     * @param populationFitness
+     * @return the parents for the next generation
+     */
+    private Population snapshot(double populationFitness) {
+        Population parents = new Population(this.population.getIndividuals().clone());
+        parents.setPopulationFitness(populationFitness);
+        parents.getCumulativeFitness();
+        return parents;
+    }
+
+    private void checkFailure() {
+        Throwable cause = this.failure.get();
+        if (cause != null) {
+            this.stopped = true;
+            throw new IllegalStateException("Asynchronous evolution failed", cause);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga;
+
+/**
+ * Optional contract of a GeneticAlgorithm that evaluates many individuals
+ * faster together than one by one, such as a simulator advancing all of them
+ * in lockstep.
+ * 
+ * When the algorithm implements it, the population evaluation passes ranges
+ * of the population to calcFitnessBatch instead of calling calcFitness for
+ * each individual. The fitness cache and DeltaFitness take precedence: with
+ * either of them individuals are evaluated one by one.
+ *
+ * @author pdsanchez
+ */
+public interface BatchFitness {
+
+    /**
+     * Evaluates the individuals from index "from" (inclusive) to "to"
+     * (exclusive), storing each fitness in its individual as calcFitness
+     * does. The result must be the same as calling calcFitness on each one.
+     * 
+     * The parallel evaluation calls it from several threads at once, on
+     * ranges that do not overlap.
+     *
+     * @param individuals
+     * @param from
+     * @param to
+     */
+    public void calcFitnessBatch(Individual[] individuals, int from, int to);
+}
@@ -0,0 +1,254 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An individual whose chromosome is made entirely of 0s and 1s, packed 64
+ * genes per long word.
+ *
+ * Packing the genes takes 32 times less memory than an integer array and lets
+ * operators work on 64 genes at a time. Bits beyond the chromosome length in
+ * the last word are always kept to 0, so counting and masking operations can
+ * work on whole words.
+ *
+ * @author pdsanchez
+ */
+public class BinaryIndividual extends Individual {
+
+    private final long[] words;
+    private final int chromosomeLength;
+
+    /**
+     * Creates a chromosome with every gene set to 0
+     *
+     * @param chromosomeLength
+     */
+    public BinaryIndividual(int chromosomeLength) {
+        this.chromosomeLength = chromosomeLength;
+        this.words = new long[(chromosomeLength + 63) >>> 6];
+    }
+
+    @Override
+    protected Individual newInstance() {
+        return new BinaryIndividual(this.chromosomeLength);
+    }
+
+    @Override
+    public void copyFrom(Individual source) {
+        if (source instanceof BinaryIndividual) {
+            long[] sourceWords = ((BinaryIndividual) source).words;
+            System.arraycopy(sourceWords, 0, this.words, 0, this.words.length);
+            this.setFitness(source.getFitness());
+            this.copyChanges(source);
+        } else {
+            super.copyFrom(source);
+        }
+    }
+
+    /**
+     * Fills the chromosome with random words.
+     */
+    @Override
+    public void randomizeBinaryChromosome(RandomSource rng) {
+        for (int i = 0; i < this.words.length; i++) {
+            this.words[i] = rng.nextLong();
+        }
+        this.clearUnusedBits();
+        this.markAllChanged();
+    }
+
+    @Override
+    public int getGenesBytes() {
+        return this.words.length * Long.BYTES;
+    }
+
+    @Override
+    public void writeGenes(ByteBuffer buffer) {
+        for (long word : this.words) {
+            buffer.putLong(word);
+        }
+    }
+
+    @Override
+    public void readGenes(ByteBuffer buffer) {
+        for (int i = 0; i < this.words.length; i++) {
+            this.words[i] = buffer.getLong();
+        }
+        this.clearUnusedBits();
+        this.markAllChanged();
+    }
+
+    /**
+     * Copies the range a word at a time when the source is binary too
+     */
+    @Override
+    public void copyGenes(Individual source, int from, int to) {
+        if (!(source instanceof BinaryIndividual)) {
+            super.copyGenes(source, from, to);
+            return;
+        }
+        if (from >= to) {
+            return;
+        }
+
+        long[] sourceWords = ((BinaryIndividual) source).words;
+        int fromWord = from >>> 6;
+        int toWord = (to - 1) >>> 6;
+        for (int i = fromWord; i <= toWord; i++) {
+            long mask = -1L;
+            if (i == fromWord) {
+                mask &= -1L << from;
+            }
+            if (i == toWord) {
+                mask &= -1L >>> (63 - ((to - 1) & 63));
+            }
+            this.setWord(i, (this.words[i] & ~mask) | (sourceWords[i] & mask));
+        }
+    }
+
+    /**
+     * Unpacks the chromosome. The returned array is a copy, changes to it are
+     * not reflected in the individual.
+     *
+     * @return The individual's chromosome, one gene per integer
+     */
+    @Override
+    public int[] getChromosome() {
+        int[] chromosome = new int[this.chromosomeLength];
+        for (int i = 0; i < this.chromosomeLength; i++) {
+            chromosome[i] = this.getGene(i);
+        }
+        return chromosome;
+    }
+
+    /**
+     * Gets the packed chromosome. Operators writing to it must keep the
+     * unused bits of the last word to 0 (see getLastWordMask), and should
+     * use setWord so that gene changes are recorded.
+     *
+     * @return The individual's chromosome words
+     */
+    public long[] getWords() {
+        return this.words;
+    }
+
+    /**
+     * Replaces a word of the chromosome, recording the genes that changed.
+     *
+     * @param idx word index
+     * @param word the new genes
+     */
+    public void setWord(int idx, long word) {
+        if (this.isChangeTrackingEnabled()) {
+            long diff = this.words[idx] ^ word;
+            while (diff != 0) {
+                int bit = Long.numberOfTrailingZeros(diff);
+                int gene = (int) (word >>> bit) & 1;
+                this.recordChange((idx << 6) + bit, gene ^ 1, gene);
+                diff &= diff - 1;
+            }
+        }
+        this.words[idx] = word;
+    }
+
+    /**
+     * @return mask of the bits of the last word that hold genes
+     */
+    public long getLastWordMask() {
+        int usedBits = this.chromosomeLength & 63;
+        return (usedBits == 0) ? -1L : (1L << usedBits) - 1;
+    }
+
+    @Override
+    public int getChromosomeLength() {
+        return this.chromosomeLength;
+    }
+
+    /**
+     * Set gene at index, any value other than 0 is stored as 1
+     *
+     * @param idx
+     * @param gene
+     */
+    @Override
+    public void setGene(int idx, int gene) {
+        if (this.isChangeTrackingEnabled()) {
+            this.recordChange(idx, this.getGene(idx), (gene == 0) ? 0 : 1);
+        }
+        if (gene == 0) {
+            this.words[idx >>> 6] &= ~(1L << idx);
+        } else {
+            this.words[idx >>> 6] |= 1L << idx;
+        }
+    }
+
+    @Override
+    public int getGene(int idx) {
+        return (int) (this.words[idx >>> 6] >>> idx) & 1;
+    }
+
+    @Override
+    public long chromosomeHash() {
+        long hash = HASH_SEED ^ this.chromosomeLength;
+        for (long word : this.words) {
+            hash = (hash ^ word) * HASH_PRIME;
+        }
+        return mixHash(hash);
+    }
+
+    /**
+     * Flips the gene at index
+     *
+     * @param idx
+     */
+    public void flipGene(int idx) {
+        if (this.isChangeTrackingEnabled()) {
+            int previous = this.getGene(idx);
+            this.recordChange(idx, previous, previous ^ 1);
+        }
+        this.words[idx >>> 6] ^= 1L << idx;
+    }
+
+    /**
+     * Counts the genes set to 1
+     *
+     * @return number of 1s in the chromosome
+     */
+    public int bitCount() {
+        int count = 0;
+        for (long word : this.words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private void clearUnusedBits() {
+        if (this.words.length > 0) {
+            this.words[this.words.length - 1] &= this.getLastWordMask();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An individual whose genes are bytes, for problems with a small alphabet.
+ *
+ * The chromosome takes 4 times less memory than an integer one. Genes are
+ * read and written as int through getGene and setGene, values outside the
+ * byte range are truncated.
+ *
+ * @author pdsanchez
+ */
+public class ByteIndividual extends Individual {
+
+    private final byte[] genes;
+
+    /**
+     * Initializes individual with specific chromosome
+     *
+     * @param genes The chromosome to give individual
+     */
+    public ByteIndividual(byte[] genes) {
+        this.genes = genes;
+    }
+
+    /**
+     * Creates a chromosome with every gene set to 0
+     *
+     * @param chromosomeLength
+     */
+    public ByteIndividual(int chromosomeLength) {
+        this(new byte[chromosomeLength]);
+    }
+
+    @Override
+    protected Individual newInstance() {
+        return new ByteIndividual(this.genes.length);
+    }
+
+    @Override
+    public void copyFrom(Individual source) {
+        if (source instanceof ByteIndividual) {
+            System.arraycopy(((ByteIndividual) source).genes, 0, this.genes, 0, this.genes.length);
+            this.setFitness(source.getFitness());
+            this.copyChanges(source);
+        } else {
+            super.copyFrom(source);
+        }
+    }
+
+    @Override
+    public void copyGenes(Individual source, int from, int to) {
+        if (source instanceof ByteIndividual) {
+            byte[] sourceGenes = ((ByteIndividual) source).genes;
+            // The genes that change, until the change log is full
+            for (int gene = from; gene < to && this.isRecordingChanges(); gene++) {
+                this.recordChange(gene, this.genes[gene], sourceGenes[gene]);
+            }
+            System.arraycopy(sourceGenes, from, this.genes, from, to - from);
+        } else {
+            super.copyGenes(source, from, to);
+        }
+    }
+
+    @Override
+    public void swapGenes(int idx1, int idx2) {
+        byte gene = this.genes[idx1];
+        this.setGene(idx1, this.genes[idx2]);
+        this.setGene(idx2, gene);
+    }
+
+    @Override
+    public int getGenesBytes() {
+        return this.genes.length;
+    }
+
+    @Override
+    public void writeGenes(ByteBuffer buffer) {
+        buffer.put(this.genes);
+    }
+
+    @Override
+    public void readGenes(ByteBuffer buffer) {
+        buffer.get(this.genes);
+        this.markAllChanged();
+    }
+
+    /**
+     * Widens the chromosome. The returned array is a copy, changes to it are
+     * not reflected in the individual.
+     *
+     * @return The individual's chromosome, one gene per integer
+     */
+    @Override
+    public int[] getChromosome() {
+        int[] chromosome = new int[this.genes.length];
+        for (int i = 0; i < this.genes.length; i++) {
+            chromosome[i] = this.genes[i];
+        }
+        return chromosome;
+    }
+
+    /**
+     * @return The individual's genes
+     */
+    public byte[] getGenes() {
+        return this.genes;
+    }
+
+    @Override
+    public int getChromosomeLength() {
+        return this.genes.length;
+    }
+
+    @Override
+    public void setGene(int idx, int gene) {
+        if (this.isChangeTrackingEnabled()) {
+            this.recordChange(idx, this.genes[idx], (byte) gene);
+        }
+        this.genes[idx] = (byte) gene;
+    }
+
+    @Override
+    public int getGene(int idx) {
+        return this.genes[idx];
+    }
+}
@@ -0,0 +1,54 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga;
+
+/**
+ * Optional contract of a GeneticAlgorithm whose fitness can be updated from
+ * the genes changed since the last evaluation, instead of scanning the whole
+ * chromosome.
+ * 
+ * When the algorithm implements it, individuals record the changes made by
+ * crossover and mutation (see Individual.enableChangeTracking) and the
+ * evaluation calls calcFitnessDelta whenever the log is complete. Otherwise
+ * calcFitness is used.
+ *
+ * @author pdsanchez
+ */
+public interface DeltaFitness {
+
+    /**
+     * Updates the fitness of an individual from its recorded changes. When
+     * called, getFitness returns the fitness of the chromosome before the
+     * first change, and getChangedGene, getPreviousGene and getNewGene
+     * describe each change in the order it was made.
+     * 
+     * As calcFitness, it must store the fitness in the individual and must
+     * not share mutable state between calls.
+     *
+     * @param individual the individual to evaluate
+     * @return double The fitness value for individual
+     */
+    public double calcFitnessDelta(Individual individual);
+}
@@ -0,0 +1,138 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Population storage outside the Java heap, in direct buffers, for
+ * populations too large to keep as objects.
+ *
+ * Chromosomes are stored row-major as in ArrayPopulationStorage, split in
+ * chunks of a power of two individuals so that no buffer goes over 1 GB and a
+ * slot is found with a shift. Each chunk has the fitness of its individuals
+ * in a second buffer. The garbage collector only sees one object per chunk,
+ * and the memory is released when the storage is collected. Direct memory
+ * is limited by -XX:MaxDirectMemorySize.
+ *
+ * In a StoredPopulation the heap keeps only the fitness ranking, 4 bytes per
+ * individual, and the cumulative fitness, 8 bytes more, when roulette
+ * selection asks for it. The views of the individuals are short lived.
+ *
+ * @author pdsanchez
+ */
+public class DirectPopulationStorage implements PopulationStorage {
+
+    private static final int MAX_CHUNK_BYTES = 1 << 30;
+
+    private final IntBuffer[] genes;
+    private final DoubleBuffer[] fitness;
+    private final int size;
+    private final int chromosomeLength;
+    private final int chunkShift;
+    private final int chunkMask;
+
+    /**
+     * @param size number of individuals
+     * @param chromosomeLength
+     */
+    public DirectPopulationStorage(int size, int chromosomeLength) {
+        this.size = size;
+        this.chromosomeLength = chromosomeLength;
+
+        // Largest power of two of individuals that fits in a chunk
+        long individualBytes = Math.max(1, (long) chromosomeLength * Integer.BYTES);
+        int perChunk = Integer.highestOneBit((int) Math.max(1, Math.min(MAX_CHUNK_BYTES / individualBytes, size)));
+        this.chunkShift = Integer.numberOfTrailingZeros(perChunk);
+        this.chunkMask = perChunk - 1;
+
+        int chunks = (size + perChunk - 1) >>> this.chunkShift;
+        this.genes = new IntBuffer[chunks];
+        this.fitness = new DoubleBuffer[chunks];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int individuals = Math.min(perChunk, size - (chunk << this.chunkShift));
+            this.genes[chunk] = ByteBuffer.allocateDirect(individuals * chromosomeLength * Integer.BYTES)
+                    .order(ByteOrder.nativeOrder()).asIntBuffer();
+            this.fitness[chunk] = ByteBuffer.allocateDirect(individuals * Double.BYTES)
+                    .order(ByteOrder.nativeOrder()).asDoubleBuffer();
+            for (int i = 0; i < individuals; i++) {
+                this.fitness[chunk].put(i, -1);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public int getChromosomeLength() {
+        return this.chromosomeLength;
+    }
+
+    @Override
+    public int getGene(int slot, int idx) {
+        return this.genes[slot >>> this.chunkShift].get((slot & this.chunkMask) * this.chromosomeLength + idx);
+    }
+
+    @Override
+    public void setGene(int slot, int idx, int gene) {
+        this.genes[slot >>> this.chunkShift].put((slot & this.chunkMask) * this.chromosomeLength + idx, gene);
+    }
+
+    @Override
+    public double getFitness(int slot) {
+        return this.fitness[slot >>> this.chunkShift].get(slot & this.chunkMask);
+    }
+
+    @Override
+    public void setFitness(int slot, double fitness) {
+        this.fitness[slot >>> this.chunkShift].put(slot & this.chunkMask, fitness);
+    }
+
+    @Override
+    public void copyGenes(int slot, PopulationStorage source, int sourceSlot, int from, int to) {
+        IntBuffer target = this.genes[slot >>> this.chunkShift];
+        int offset = (slot & this.chunkMask) * this.chromosomeLength;
+
+        // Absolute accesses only, the buffers are shared between threads
+        if (source instanceof DirectPopulationStorage) {
+            DirectPopulationStorage direct = (DirectPopulationStorage) source;
+            IntBuffer sourceGenes = direct.genes[sourceSlot >>> direct.chunkShift];
+            int sourceOffset = (sourceSlot & direct.chunkMask) * this.chromosomeLength;
+            for (int idx = from; idx < to; idx++) {
+                target.put(offset + idx, sourceGenes.get(sourceOffset + idx));
+            }
+            return;
+        }
+        for (int idx = from; idx < to; idx++) {
+            target.put(offset + idx, source.getGene(sourceSlot, idx));
+        }
+    }
+}
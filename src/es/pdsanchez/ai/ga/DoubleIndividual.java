@@ -0,0 +1,223 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An individual whose genes are real numbers, for problems that would
+ * otherwise encode doubles into integers.
+ *
+ * getDoubleGene and setDoubleGene access the genes. getGene and setGene still
+ * work, rounding towards zero, so integer operators can be used; the crossover
+ * operators copy genes with copyGene and copyGenes, which keep the value.
+ * Changes are not recorded gene by gene, any change to a tracked individual
+ * leads to a full evaluation.
+ *
+ * @author pdsanchez
+ */
+public class DoubleIndividual extends Individual {
+
+    private final double[] genes;
+
+    /**
+     * Initializes individual with specific chromosome
+     *
+     * @param genes The chromosome to give individual
+     */
+    public DoubleIndividual(double[] genes) {
+        this.genes = genes;
+    }
+
+    /**
+     * Creates a chromosome with every gene set to 0
+     *
+     * @param chromosomeLength
+     */
+    public DoubleIndividual(int chromosomeLength) {
+        this(new double[chromosomeLength]);
+    }
+
+    @Override
+    protected Individual newInstance() {
+        return new DoubleIndividual(this.genes.length);
+    }
+
+    @Override
+    public void copyFrom(Individual source) {
+        if (source instanceof DoubleIndividual) {
+            System.arraycopy(((DoubleIndividual) source).genes, 0, this.genes, 0, this.genes.length);
+            this.setFitness(source.getFitness());
+            this.copyChanges(source);
+        } else {
+            super.copyFrom(source);
+        }
+    }
+
+    /**
+     * Sets every gene to a uniformly distributed value
+     *
+     * @param rng
+     * @param min lower bound (inclusive)
+     * @param max upper bound (exclusive)
+     */
+    public void randomize(RandomSource rng, double min, double max) {
+        for (int i = 0; i < this.genes.length; i++) {
+            this.genes[i] = min + (max - min) * rng.nextDouble();
+        }
+        this.markAllChanged();
+    }
+
+    @Override
+    public void copyGene(Individual source, int idx) {
+        if (source instanceof DoubleIndividual) {
+            this.setDoubleGene(idx, ((DoubleIndividual) source).genes[idx]);
+        } else {
+            super.copyGene(source, idx);
+        }
+    }
+
+    @Override
+    public void copyGenes(Individual source, int from, int to) {
+        if (source instanceof DoubleIndividual) {
+            System.arraycopy(((DoubleIndividual) source).genes, from, this.genes, from, to - from);
+            if (from < to) {
+                this.markAllChanged();
+            }
+        } else {
+            super.copyGenes(source, from, to);
+        }
+    }
+
+    @Override
+    public void swapGenes(int idx1, int idx2) {
+        double gene = this.genes[idx1];
+        this.setDoubleGene(idx1, this.genes[idx2]);
+        this.setDoubleGene(idx2, gene);
+    }
+
+    @Override
+    public int getGenesBytes() {
+        return this.genes.length * Double.BYTES;
+    }
+
+    @Override
+    public void writeGenes(ByteBuffer buffer) {
+        for (double gene : this.genes) {
+            buffer.putDouble(gene);
+        }
+    }
+
+    @Override
+    public void readGenes(ByteBuffer buffer) {
+        for (int i = 0; i < this.genes.length; i++) {
+            this.genes[i] = buffer.getDouble();
+        }
+        this.markAllChanged();
+    }
+
+    /**
+     * Rounds the chromosome towards zero. The returned array is a copy,
+     * changes to it are not reflected in the individual.
+     *
+     * @return The individual's chromosome, one gene per integer
+     */
+    @Override
+    public int[] getChromosome() {
+        int[] chromosome = new int[this.genes.length];
+        for (int i = 0; i < this.genes.length; i++) {
+            chromosome[i] = (int) this.genes[i];
+        }
+        return chromosome;
+    }
+
+    /**
+     * @return The individual's genes
+     */
+    public double[] getGenes() {
+        return this.genes;
+    }
+
+    @Override
+    public int getChromosomeLength() {
+        return this.genes.length;
+    }
+
+    @Override
+    public long chromosomeHash() {
+        long hash = HASH_SEED;
+        for (double gene : this.genes) {
+            hash = (hash ^ Double.doubleToLongBits(gene)) * HASH_PRIME;
+        }
+        return mixHash(hash);
+    }
+
+    /**
+     * Set gene at index
+     *
+     * @param idx
+     * @param gene
+     */
+    public void setDoubleGene(int idx, double gene) {
+        if (this.isChangeTrackingEnabled() && this.genes[idx] != gene) {
+            this.markAllChanged();
+        }
+        this.genes[idx] = gene;
+    }
+
+    /**
+     * Get gene at index
+     *
+     * @param idx
+     * @return gene
+     */
+    public double getDoubleGene(int idx) {
+        return this.genes[idx];
+    }
+
+    @Override
+    public void setGene(int idx, int gene) {
+        this.setDoubleGene(idx, gene);
+    }
+
+    @Override
+    public int getGene(int idx) {
+        return (int) this.genes[idx];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder output = new StringBuilder();
+        for (int gene = 0; gene < this.genes.length; gene++) {
+            if (gene > 0) {
+                output.append(' ');
+            }
+            output.append(this.genes[gene]);
+        }
+        output.append("\t").append(this.getFitness());
+
+        return output.toString();
+    }
+}
@@ -0,0 +1,179 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of fitness values keyed by chromosome hash.
+ *
+ * Once a population converges most offspring repeat chromosomes that were
+ * already evaluated, so expensive fitness functions can be skipped for them.
+ *
+ * The cache is set associative: a hash maps to a set of a few entries and,
+ * when the set is full, the CLOCK algorithm evicts an entry that was not read
+ * since the last sweep. Entries are kept in primitive arrays and every set is
+ * guarded by one of a fixed number of locks, so it can be shared by the
+ * parallel evaluation threads.
+ *
+ * Keys are 64 bit hashes (see Individual.chromosomeHash), two chromosomes with
+ * the same hash share a fitness value.
+ *
+ * @author pdsanchez
+ */
+public class FitnessCache {
+
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    // Entries per set
+    private static final int WAYS = 8;
+    private static final int LOCKS = 64;
+
+    private final long[] keys;
+    private final double[] values;
+    private final boolean[] used;
+    private final boolean[] referenced;
+    private final int[] hands;
+    private final int setMask;
+    private final Object[] locks;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public FitnessCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity maximum number of fitness values, rounded up to a power
+     * of two
+     */
+    public FitnessCache(int capacity) {
+        int sets = Integer.highestOneBit(Math.max(1, (capacity + WAYS - 1) / WAYS) * 2 - 1);
+
+        this.keys = new long[sets * WAYS];
+        this.values = new double[sets * WAYS];
+        this.used = new boolean[sets * WAYS];
+        this.referenced = new boolean[sets * WAYS];
+        this.hands = new int[sets];
+        this.setMask = sets - 1;
+
+        this.locks = new Object[Math.min(LOCKS, sets)];
+        for (int i = 0; i < this.locks.length; i++) {
+            this.locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Gets a cached fitness value
+     *
+     * @param key chromosome hash
+     * @return the fitness value, or NaN if it is not cached
+     */
+    public double get(long key) {
+        int set = this.setIndex(key);
+        int first = set * WAYS;
+
+        synchronized (this.locks[set % this.locks.length]) {
+            for (int entry = first; entry < first + WAYS; entry++) {
+                if (this.used[entry] && this.keys[entry] == key) {
+                    this.referenced[entry] = true;
+                    this.hits.increment();
+                    return this.values[entry];
+                }
+            }
+        }
+
+        this.misses.increment();
+        return Double.NaN;
+    }
+
+    /**
+     * Stores a fitness value, evicting another one if the set is full
+     *
+     * @param key chromosome hash
+     * @param fitness
+     */
+    public void put(long key, double fitness) {
+        int set = this.setIndex(key);
+        int first = set * WAYS;
+
+        synchronized (this.locks[set % this.locks.length]) {
+            int free = -1;
+            for (int entry = first; entry < first + WAYS; entry++) {
+                if (this.used[entry] == false) {
+                    free = (free == -1) ? entry : free;
+                } else if (this.keys[entry] == key) {
+                    this.values[entry] = fitness;
+                    return;
+                }
+            }
+
+            if (free == -1) {
+                // CLOCK sweep, giving a second chance to the entries read
+                int hand = this.hands[set];
+                while (this.referenced[first + hand]) {
+                    this.referenced[first + hand] = false;
+                    hand = (hand + 1) % WAYS;
+                }
+                free = first + hand;
+                this.hands[set] = (hand + 1) % WAYS;
+            }
+
+            this.keys[free] = key;
+            this.values[free] = fitness;
+            this.used[free] = true;
+            this.referenced[free] = false;
+        }
+    }
+
+    /**
+     * @return number of lookups that found a fitness value
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * @return number of lookups that did not find a fitness value
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * @return maximum number of fitness values
+     */
+    public int getCapacity() {
+        return this.keys.length;
+    }
+
+    private int setIndex(long key) {
+        // Spread the high bits, the low ones may be weak in some hashes
+        long h = key ^ (key >>> 32);
+        h ^= h >>> 16;
+        return (int) h & this.setMask;
+    }
+}
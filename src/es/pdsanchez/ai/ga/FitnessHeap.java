@@ -0,0 +1,141 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga;
+
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Indexed min-heap of the individuals of a population by fitness.
+ *
+ * The heap holds population indices, with the weakest individual on top, and
+ * remembers where each index is in the heap. When the individual at an index
+ * changes its fitness, update restores the heap in O(log n), so the steady
+ * state mode can find and replace the worst individual without ranking the
+ * whole population.
+ *
+ * Ties are broken by population index, so the worst individual depends only
+ * on the fitness values and not on the history of the heap. A population
+ * restored from a checkpoint evolves as the saved one did.
+ *
+ * @author pdsanchez
+ */
+public class FitnessHeap {
+
+    private final IntToDoubleFunction fitness;
+    private final int[] heap;
+    private final int[] positions;
+
+    /**
+     * Builds the heap of an evaluated population, in O(n)
+     *
+     * @param population
+     */
+    public FitnessHeap(Population population) {
+        this(population.size(), population::getFitness);
+    }
+
+    /**
+     * Builds the heap of any indexed set of individuals, in O(n)
+     *
+     * @param size number of individuals
+     * @param fitness fitness of the individual at each index
+     */
+    FitnessHeap(int size, IntToDoubleFunction fitness) {
+        this.fitness = fitness;
+        this.heap = new int[size];
+        this.positions = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            this.heap[i] = i;
+            this.positions[i] = i;
+        }
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            this.siftDown(i);
+        }
+    }
+
+    /**
+     * @return population index of the weakest individual
+     */
+    public int peekWorst() {
+        return this.heap[0];
+    }
+
+    /**
+     * Restores the heap after the fitness of an individual has changed
+     *
+     * @param idx population index of the individual
+     */
+    public void update(int idx) {
+        int position = this.positions[idx];
+        if (position > 0 && this.weaker(position, (position - 1) / 2)) {
+            this.siftUp(position);
+        } else {
+            this.siftDown(position);
+        }
+    }
+
+    private boolean weaker(int position1, int position2) {
+        double fitness1 = this.fitness.applyAsDouble(this.heap[position1]);
+        double fitness2 = this.fitness.applyAsDouble(this.heap[position2]);
+        return fitness1 < fitness2
+                || (fitness1 == fitness2 && this.heap[position1] < this.heap[position2]);
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (this.weaker(position, parent) == false) {
+                break;
+            }
+            this.swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        int size = this.heap.length;
+        int child;
+        while ((child = 2 * position + 1) < size) {
+            if (child + 1 < size && this.weaker(child + 1, child)) {
+                child++;
+            }
+            if (this.weaker(child, position) == false) {
+                break;
+            }
+            this.swap(position, child);
+            position = child;
+        }
+    }
+
+    private void swap(int position1, int position2) {
+        int idx1 = this.heap[position1];
+        int idx2 = this.heap[position2];
+        this.heap[position1] = idx2;
+        this.heap[position2] = idx1;
+        this.positions[idx2] = position1;
+        this.positions[idx1] = position2;
+    }
+}
@@ -0,0 +1,137 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga;
+
+/**
+ * Branch-free scalar loops over gene arrays, used by the operators and
+ * fitness functions when the genes are in a plain array.
+ *
+ * The loops have no data dependent branch and no call, and one random long
+ * serves 64 genes, which is where they gain over the per-gene paths. Whether
+ * the JIT unrolls or vectorizes them is up to it, nothing here depends on
+ * that. The kernels write the arrays directly: Individual records the
+ * changes of a tracked individual before calling them, and callers keep a
+ * per-gene path for any other gene storage.
+ *
+ * @author pdsanchez
+ */
+public final class GeneKernels {
+
+    private GeneKernels() {
+    }
+
+    /**
+     * Uniform crossover: each gene of the offspring comes from parent1 or
+     * parent2 with the same probability. One random long selects 64 genes.
+     *
+     * @param parent1
+     * @param parent2
+     * @param offspring
+     * @param rng
+     */
+    public static void uniformBlend(int[] parent1, int[] parent2, int[] offspring, RandomSource rng) {
+        int length = offspring.length;
+
+        for (int block = 0; block < length; block += 64) {
+            blend(parent1, parent2, offspring, rng.nextLong(), block, Math.min(length, block + 64));
+        }
+    }
+
+    /**
+     * Takes the genes from index "from" (inclusive) to "to" (exclusive), at
+     * most 64, from parent1 where the bit of the mask is 1 and from parent2
+     * where it is 0. Bit 0 is the gene at "from".
+     *
+     * @param parent1
+     * @param parent2
+     * @param offspring
+     * @param bits the mask
+     * @param from
+     * @param to
+     */
+    public static void blend(int[] parent1, int[] parent2, int[] offspring, long bits, int from, int to) {
+        for (int i = from; i < to; i++) {
+            // All 1s picks parent1, all 0s parent2
+            int mask = -(int) ((bits >>> (i - from)) & 1);
+            offspring[i] = (parent1[i] & mask) | (parent2[i] & ~mask);
+        }
+    }
+
+    /**
+     * Copies the genes from index "from" (inclusive) to "to" (exclusive), as
+     * the point crossovers do.
+     *
+     * @param source
+     * @param target
+     * @param from
+     * @param to
+     */
+    public static void copyRange(int[] source, int[] target, int from, int to) {
+        System.arraycopy(source, from, target, from, to - from);
+    }
+
+    /**
+     * @param genes
+     * @param value
+     * @return the number of genes equal to value
+     */
+    public static int count(int[] genes, int value) {
+        int count = 0;
+        for (int gene : genes) {
+            int difference = gene ^ value;
+            // 1 when the difference is 0, as (d | -d) has the sign bit set otherwise
+            count += 1 - ((difference | -difference) >>> 31);
+        }
+        return count;
+    }
+
+    /**
+     * @param genes
+     * @param value
+     * @return the number of genes equal to value
+     */
+    public static int count(byte[] genes, byte value) {
+        int count = 0;
+        for (byte gene : genes) {
+            int difference = gene ^ value;
+            count += 1 - ((difference | -difference) >>> 31);
+        }
+        return count;
+    }
+
+    /**
+     * @param genes
+     * @param value
+     * @return the number of genes equal to value
+     */
+    public static int count(short[] genes, short value) {
+        int count = 0;
+        for (short gene : genes) {
+            int difference = gene ^ value;
+            count += 1 - ((difference | -difference) >>> 31);
+        }
+        return count;
+    }
+}
@@ -29,14 +29,25 @@ import es.pdsanchez.ai.ga.crossover.OrderedCrossover;
 import es.pdsanchez.ai.ga.crossover.SinglePointCrossover;
 import es.pdsanchez.ai.ga.crossover.TwoPointCrossover;
 import es.pdsanchez.ai.ga.crossover.UniformCrossover;
+import es.pdsanchez.ai.ga.evaluation.EvaluationInterface;
+import es.pdsanchez.ai.ga.evaluation.ParallelEvaluation;
+import es.pdsanchez.ai.ga.evaluation.SequentialEvaluation;
 import es.pdsanchez.ai.ga.mutation.BitFlipMutation;
+import es.pdsanchez.ai.ga.mutation.GaussianMutation;
 import es.pdsanchez.ai.ga.mutation.MutationInterface;
 import es.pdsanchez.ai.ga.mutation.SwapMutation;
 import es.pdsanchez.ai.ga.selector.ParentSelectionInterface;
 import es.pdsanchez.ai.ga.selector.ParentSelectionByTournament;
 import es.pdsanchez.ai.ga.selector.ParentSelectionByRoulette;
+import es.pdsanchez.ai.ga.selector.ParentSelectionByCumulativeRoulette;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 /**
  * The GeneticAlgorithm class is our main abstraction for managing the
@@ -69,10 +80,17 @@ public abstract class GeneticAlgorithm {
     public static final int DEFAULT_MAX_GENERATIONS = 1000;
     public static final double DEFAULT_TOURNAMENT_PERCENTAGE = 0.1;
     public static final int DEFAULT_TOURNAMENT_RATE = (int)(DEFAULT_POPULATION_SIZE * DEFAULT_TOURNAMENT_PERCENTAGE);
+    public static final int DEFAULT_STEADY_STATE_OFFSPRING = 2;
+    public static final double DEFAULT_DELTA_CHANGE_RATIO = 0.125;
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 100;
+
+    // Views of stored individuals evaluated at once
+    private static final int STORED_EVALUATION_BLOCK = 256;
 
     public enum ParentSelector {
 
         ROULETTE(new ParentSelectionByRoulette()),
+        CUMULATIVE_ROULETTE(new ParentSelectionByCumulativeRoulette()),
         TOURNAMENT(new ParentSelectionByTournament(DEFAULT_TOURNAMENT_RATE));
 
         private final ParentSelectionInterface selector;
@@ -81,15 +99,20 @@ public abstract class GeneticAlgorithm {
             this.selector = selector;
         }
 
-        public Individual selectParent(Population population) {
-            return selector.selectParent(population);
+        public Individual selectParent(Population population, RandomSource rng) {
+            return selector.selectParent(population, rng);
+        }
+
+        public int selectParentIndex(Population population, RandomSource rng) {
+            return selector.selectParentIndex(population, rng);
         }
     };
 
     public enum MutationSelector {
 
         BIT_FLIP_MUTATION(new BitFlipMutation()),
-        SWAP_MUTATION(new SwapMutation());
+        SWAP_MUTATION(new SwapMutation()),
+        GAUSSIAN_MUTATION(new GaussianMutation());
 
         private final MutationInterface selector;
 
@@ -97,8 +120,8 @@ public abstract class GeneticAlgorithm {
             this.selector = selector;
         }
 
-        public void mutateGene(Individual individual, int geneIndex) {
-            selector.mutateGene(individual, geneIndex);
+        public void mutateGene(Individual individual, int geneIndex, RandomSource rng) {
+            selector.mutateGene(individual, geneIndex, rng);
         }
     };
 
@@ -115,8 +138,144 @@ public abstract class GeneticAlgorithm {
             this.selector = selector;
         }
 
-        public Individual crossover(Individual parent1, Individual parent2) {
-            return selector.crossover(parent1, parent2);
+        public Individual crossover(Individual parent1, Individual parent2, RandomSource rng) {
+            return selector.crossover(parent1, parent2, rng);
+        }
+
+        public void crossover(Individual parent1, Individual parent2, Individual offspring, RandomSource rng) {
+            selector.crossover(parent1, parent2, offspring, rng);
+        }
+    };
+
+    public enum EvolutionMode {
+
+        /**
+         * Builds a new population every generation.
+         */
+        GENERATIONAL,
+        /**
+         * Breeds into a preallocated population and swaps it with the current
+         * one every generation, so the loop does not allocate individuals.
+         */
+        DOUBLE_BUFFERED,
+        /**
+         * Every generation breeds and evaluates only a few offspring, which
+         * replace the worst individuals if they are at least as fit. The
+         * worst individual is tracked with a FitnessHeap.
+         */
+        STEADY_STATE,
+        /**
+         * Worker threads breed, evaluate and replace the worst individual
+         * independently, without waiting for each other. Parents are chosen
+         * with the ParentSelector from the population of the last generation.
+         * A generation is counted every populationSize evaluations.
+         *
+         * To replace without locks, every worker owns a stripe of the
+         * population and an offspring only replaces the worst individual of
+         * its worker's stripe, which may be fitter than the worst of the
+         * whole population.
+         */
+        ASYNC_STEADY_STATE
+    };
+
+    public enum ChromosomeSelector {
+
+        INTEGER_CHROMOSOME {
+            @Override
+            public Individual createIndividual(int chromosomeLength) {
+                return new Individual(chromosomeLength);
+            }
+        },
+        BINARY_CHROMOSOME {
+            @Override
+            public Individual createIndividual(int chromosomeLength) {
+                return new BinaryIndividual(chromosomeLength);
+            }
+        },
+        BYTE_CHROMOSOME {
+            @Override
+            public Individual createIndividual(int chromosomeLength) {
+                return new ByteIndividual(chromosomeLength);
+            }
+        },
+        SHORT_CHROMOSOME {
+            @Override
+            public Individual createIndividual(int chromosomeLength) {
+                return new ShortIndividual(chromosomeLength);
+            }
+        },
+        DOUBLE_CHROMOSOME {
+            @Override
+            public Individual createIndividual(int chromosomeLength) {
+                return new DoubleIndividual(chromosomeLength);
+            }
+        };
+
+        public abstract Individual createIndividual(int chromosomeLength);
+    };
+
+    public enum PopulationLayout {
+
+        /**
+         * One object per individual, each one with its own chromosome.
+         */
+        OBJECTS {
+            @Override
+            public Population createPopulation(int populationSize, int chromosomeLength,
+                    ChromosomeSelector chromosomeSelector) {
+                Population population = new Population(populationSize);
+                for (int i = 0; i < populationSize; i++) {
+                    population.setIndividual(i, chromosomeSelector.createIndividual(chromosomeLength));
+                }
+                return population;
+            }
+        },
+        /**
+         * Every chromosome in one int array and every fitness in a double
+         * array, individuals are views of them created on demand, so there
+         * is no object per individual. Only for integer chromosomes, and not
+         * in the asynchronous mode. The generational mode crosses into a
+         * second population and mutates back into the current one, so it
+         * gives the same individuals as with objects. Gene changes are not
+         * tracked, a DeltaFitness problem is fully evaluated.
+         */
+        STRUCTURE_OF_ARRAYS {
+            @Override
+            public Population createPopulation(int populationSize, int chromosomeLength,
+                    ChromosomeSelector chromosomeSelector) {
+                return new StoredPopulation(new ArrayPopulationStorage(populationSize, chromosomeLength));
+            }
+        },
+        /**
+         * As STRUCTURE_OF_ARRAYS, with the chromosomes and fitness values in
+         * direct buffers outside the Java heap, for very large populations.
+         * The heap keeps about 4 bytes per individual, its fitness rank.
+         */
+        OFF_HEAP {
+            @Override
+            public Population createPopulation(int populationSize, int chromosomeLength,
+                    ChromosomeSelector chromosomeSelector) {
+                return new StoredPopulation(new DirectPopulationStorage(populationSize, chromosomeLength));
+            }
+        };
+
+        public abstract Population createPopulation(int populationSize, int chromosomeLength,
+                ChromosomeSelector chromosomeSelector);
+    };
+
+    public enum EvaluationSelector {
+
+        SEQUENTIAL_EVALUATION(new SequentialEvaluation()),
+        PARALLEL_EVALUATION(new ParallelEvaluation());
+
+        private final EvaluationInterface selector;
+
+        EvaluationSelector(EvaluationInterface selector) {
+            this.selector = selector;
+        }
+
+        public double evalPopulation(GeneticAlgorithm ga, Population population) {
+            return selector.evalPopulation(ga, population);
         }
     };
     
@@ -148,9 +307,99 @@ public abstract class GeneticAlgorithm {
 
     private int maxGenerations;
 
+    private EvolutionMode evolutionMode;
+
+    /**
+     * Offspring bred and evaluated per generation in the steady state mode.
+     */
+    private int steadyStateOffspring;
+
+    /**
+     * Worker threads of the asynchronous steady state mode.
+     */
+    private int asyncWorkers;
+
+    /**
+     * Seed of the random source, a run with the same seed and configuration
+     * is reproduced exactly.
+     */
+    private long seed;
+    private RandomSource random;
+
+    /**
+     * Population the next generation is bred into, when double buffering, or
+     * the offspring of the steady state mode.
+     */
+    private Population buffer;
+
+    /**
+     * Worst individuals first, only in the steady state mode.
+     */
+    private FitnessHeap heap;
+
+    /**
+     * Running workers, only in the asynchronous steady state mode.
+     */
+    private AsyncSteadyState async;
+
+    /**
+     * Changes recorded per individual for delta evaluation, as a fraction of
+     * the chromosome length. Only used by DeltaFitness problems.
+     */
+    private double deltaChangeRatio;
+
+    /**
+     * File the population is saved to every checkpointInterval generations,
+     * null when disabled.
+     */
+    private Path checkpointPath;
+    private int checkpointInterval;
+
+    /**
+     * Built-in termination: the run stops when the best fitness reaches
+     * targetFitness (NaN to disable) or does not improve for maxStagnation
+     * generations (0 to disable).
+     */
+    private double targetFitness;
+    private int maxStagnation;
+    private double runBestFitness;
+    private int stagnantGenerations;
+
+    private ChromosomeSelector chromosomeSelector;
+    private PopulationLayout populationLayout;
     private ParentSelector parentSelector;
     private MutationSelector mutationSelector;
     private CrossoverSelector crossoverSelector;
+    private EvaluationSelector evaluationSelector;
+
+    /**
+     * Pool used by the parallel evaluation. Common pool by default.
+     */
+    private ForkJoinPool evaluationPool;
+
+    /**
+     * Optional cache of fitness values by chromosome, null when disabled.
+     */
+    private FitnessCache fitnessCache;
+
+    /**
+     * Metrics of the run, recorded only while enabled.
+     */
+    private final GeneticAlgorithmMetrics metrics = new GeneticAlgorithmMetrics();
+    private ObjectName metricsName;
+
+    /**
+     * True when a subclass overrides crossover(parent1, parent2) but none of
+     * the crossovers into an offspring, so the modes that breed into an
+     * offspring must call it and copy its result.
+     */
+    private final boolean crossoverHookOnly;
+
+    /**
+     * True when a subclass overrides mutateGene(individual, geneIndex) but not
+     * the one with a random source, which the asynchronous workers need.
+     */
+    private final boolean mutationHookOnly;
   
     public GeneticAlgorithm(int chromosomeLength) {
         this.chromosomeLength = chromosomeLength;
@@ -160,14 +409,46 @@ public abstract class GeneticAlgorithm {
         this.crossoverRate = DEFAULT_CROSSOVER_RATE;
         this.elitismCount = DEFAULT_ELISTISM_COUNT;
         this.maxGenerations = DEFAULT_MAX_GENERATIONS;
-
+        this.evolutionMode = EvolutionMode.GENERATIONAL;
+        this.steadyStateOffspring = DEFAULT_STEADY_STATE_OFFSPRING;
+        this.asyncWorkers = Runtime.getRuntime().availableProcessors();
+        this.deltaChangeRatio = DEFAULT_DELTA_CHANGE_RATIO;
+        this.checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+        this.targetFitness = Double.NaN;
+        this.maxStagnation = 0;
+        this.setSeed(RandomSource.randomSeed());
+
+        this.chromosomeSelector = ChromosomeSelector.INTEGER_CHROMOSOME; // int[] genes by default
+        this.populationLayout = PopulationLayout.OBJECTS; // an object per individual by default
         this.parentSelector = ParentSelector.ROULETTE; // roulette by default
         this.mutationSelector = MutationSelector.BIT_FLIP_MUTATION; // bit flip by default
         this.crossoverSelector = CrossoverSelector.UNIFORM_CROSSOVER; // uniform crossover by default
+        this.evaluationSelector = EvaluationSelector.SEQUENTIAL_EVALUATION; // sequential evaluation by default
+        this.evaluationPool = ForkJoinPool.commonPool();
+
+        this.crossoverHookOnly = this._overrides("crossover", Individual.class, Individual.class)
+                && this._overrides("crossover", Individual.class, Individual.class, Individual.class) == false
+                && this._overrides("crossover", Individual.class, Individual.class, Individual.class,
+                        RandomSource.class) == false;
+        this.mutationHookOnly = this._overrides("mutateGene", Individual.class, int.class)
+                && this._overrides("mutateGene", Individual.class, int.class, RandomSource.class) == false;
         
         this.activeLogs();
     }
 
+    /**
+     * @param name
+     * @param parameterTypes
+     * @return true if the class of this object overrides the public method
+     */
+    private boolean _overrides(String name, Class<?>... parameterTypes) {
+        try {
+            return this.getClass().getMethod(name, parameterTypes).getDeclaringClass() != GeneticAlgorithm.class;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Populate (and randomize) individual chromosome
      * 
@@ -177,11 +458,100 @@ public abstract class GeneticAlgorithm {
 
     /**
      * Calculate fitness for an individual.
+     * 
+     * With parallel evaluation this method is called from several threads at
+     * once, so it must not share mutable state between calls.
      *
      * @param individual the individual to evaluate
      * @return double The fitness value for individual
      */
     public abstract double calcFitness(Individual individual);
+
+    /**
+     * Fitness of an individual through the fitness cache, if any. This is the
+     * method used by the population evaluation.
+     * 
+     * When the problem implements DeltaFitness and the individual recorded
+     * its changes since the last evaluation, the fitness is updated from
+     * them instead, and an individual without changes is not evaluated.
+     *
+     * @param individual the individual to evaluate
+     * @return double The fitness value for individual
+     */
+    public double evalFitness(Individual individual) {
+        double fitness;
+        if (individual.hasDelta() && this instanceof DeltaFitness) {
+            fitness = (individual.getChangeCount() == 0)
+                    ? individual.getFitness()
+                    : ((DeltaFitness) this).calcFitnessDelta(individual);
+        } else if (this.fitnessCache == null) {
+            fitness = this.calcFitness(individual);
+        } else {
+            long key = individual.chromosomeHash();
+            fitness = this.fitnessCache.get(key);
+            if (Double.isNaN(fitness)) {
+                fitness = this.calcFitness(individual);
+                this.fitnessCache.put(key, fitness);
+            } else {
+                individual.setFitness(fitness);
+            }
+        }
+        individual.clearChanges();
+
+        return fitness;
+    }
+
+    /**
+     * Evaluates the individuals from index "from" (inclusive) to "to"
+     * (exclusive), with calcFitnessBatch when the problem implements
+     * BatchFitness and with evalFitness otherwise. Each fitness is stored in
+     * its individual.
+     *
+     * @param individuals
+     * @param from
+     * @param to
+     */
+    public void evalFitness(Individual[] individuals, int from, int to) {
+        if (this instanceof BatchFitness && this.fitnessCache == null
+                && (this instanceof DeltaFitness) == false) {
+            ((BatchFitness) this).calcFitnessBatch(individuals, from, to);
+            for (int i = from; i < to; i++) {
+                individuals[i].clearChanges();
+            }
+            return;
+        }
+
+        // calcFitness may only return the fitness
+        for (int i = from; i < to; i++) {
+            individuals[i].setFitness(this.evalFitness(individuals[i]));
+        }
+    }
+
+    /**
+     * Evaluates the individuals of a population from index "from"
+     * (inclusive) to "to" (exclusive), as evalFitness on its individuals. The
+     * individuals of a stored population are evaluated a block at a time,
+     * through a single block of views moved from slot to slot.
+     *
+     * @param population
+     * @param from
+     * @param to
+     */
+    public void evalFitness(Population population, int from, int to) {
+        if (population instanceof StoredPopulation == false) {
+            this.evalFitness(population.getIndividuals(), from, to);
+            return;
+        }
+
+        Individual[] block = new Individual[Math.min(STORED_EVALUATION_BLOCK, to - from)];
+        for (int start = from; start < to; start += block.length) {
+            int end = Math.min(to, start + block.length);
+            for (int i = start; i < end; i++) {
+                block[i - start] = population.getIndividual(i, block[i - start]);
+            }
+            this.evalFitness(block, 0, end - start);
+        }
+    }
     
     /**
      * This method must be override.
@@ -194,6 +564,45 @@ public abstract class GeneticAlgorithm {
         return (generationsCount > maxGenerations);
     }
 
+    /**
+     * Built-in termination predicates and isTerminationConditionMet, checked
+     * once per generation. They read the population statistics, in O(1).
+     *
+     * @param population
+     * @param generationsCount
+     * @return true if the run must stop
+     */
+    boolean isStopConditionMet(Population population, int generationsCount) {
+        double bestFitness = population.getBestFitness();
+        if (bestFitness > this.runBestFitness) {
+            this.runBestFitness = bestFitness;
+            this.stagnantGenerations = 0;
+        } else {
+            this.stagnantGenerations++;
+        }
+
+        return this.isTargetFitnessReached(population)
+                || this.isStagnated()
+                || this.isTerminationConditionMet(population, generationsCount);
+    }
+
+    /**
+     * @param population
+     * @return true if a target fitness is set and the best individual
+     * reaches it
+     */
+    protected boolean isTargetFitnessReached(Population population) {
+        return population.getBestFitness() >= this.targetFitness;
+    }
+
+    /**
+     * @return true if a stagnation limit is set and the best fitness has not
+     * improved for that many generations
+     */
+    protected boolean isStagnated() {
+        return this.maxStagnation > 0 && this.stagnantGenerations >= this.maxStagnation;
+    }
+
     /**
      * This method must be override.
      *
@@ -202,7 +611,35 @@ public abstract class GeneticAlgorithm {
      * @return offspring
      */
     public Individual crossover(Individual parent1, Individual parent2) {
-        return this.crossoverSelector.crossover(parent1, parent2);
+        return this.crossoverSelector.crossover(parent1, parent2, this.random);
+    }
+
+    /**
+     * Crossover used by the double buffered and steady state modes, the
+     * offspring chromosome is overwritten. When a subclass overrides only
+     * crossover(parent1, parent2), those modes call it instead and copy its
+     * result into the offspring.
+     *
+     * @param parent1
+     * @param parent2
+     * @param offspring
+     */
+    public void crossover(Individual parent1, Individual parent2, Individual offspring) {
+        this.crossover(parent1, parent2, offspring, this.random);
+    }
+
+    /**
+     * Crossover with the random source of the calling thread, used by the
+     * asynchronous workers. Override it along with crossover(parent1,
+     * parent2), the asynchronous mode refuses to start otherwise.
+     *
+     * @param parent1
+     * @param parent2
+     * @param offspring
+     * @param rng
+     */
+    public void crossover(Individual parent1, Individual parent2, Individual offspring, RandomSource rng) {
+        this.crossoverSelector.crossover(parent1, parent2, offspring, rng);
     }
 
     /**
@@ -214,7 +651,22 @@ public abstract class GeneticAlgorithm {
      * @param geneIndex
      */
     public void mutateGene(Individual individual, int geneIndex) {
-        this.mutationSelector.mutateGene(individual, geneIndex);
+        this.mutateGene(individual, geneIndex, this.random);
+    }
+
+    /**
+     * Mutation with the random source of the calling thread, used by the
+     * asynchronous workers. The other modes call mutateGene(individual,
+     * geneIndex), which calls this one unless overridden. Override it along
+     * with mutateGene(individual, geneIndex), the asynchronous mode refuses to
+     * start otherwise.
+     *
+     * @param individual
+     * @param geneIndex
+     * @param rng
+     */
+    public void mutateGene(Individual individual, int geneIndex, RandomSource rng) {
+        this.mutationSelector.mutateGene(individual, geneIndex, rng);
     }
 
     /**
@@ -223,134 +675,544 @@ public abstract class GeneticAlgorithm {
      * @return the best individual found
      */
     public Individual run() {
-        if (LOG.isLoggable(Level.INFO)) {
-            String msg = "GA size {0} - chromosome {1}\n"
-                    + "ParentSelector: {2}\n"
-                    + "CrossoverSelector: {3} [rate: {4}]\n"
-                    + "MutationSelector: {5} [rate: {6}]";
-            Object[] params = {populationSize, chromosomeLength, parentSelector, 
-                crossoverSelector, crossoverRate, mutationSelector, mutationRate};
-            LOG.log(Level.INFO, msg, params);
+        // Initialize and evaluate population
+        Population population = this.startRun();
+
+        // Keep track of current generation
+        return this._run(population, 1);
+    }
+
+    /**
+     * Continues a run from a checkpoint saved by it. The configuration should
+     * be the one of the saved run, the chromosome kind is taken from the
+     * checkpoint. In the asynchronous steady state mode the workers start
+     * from new random sequences, so the run is not reproduced exactly.
+     *
+     * @param checkpoint file written during a run (see setCheckpointPath)
+     * @return the best individual found
+     * @throws IOException if the checkpoint can not be read
+     */
+    public Individual resume(Path checkpoint) throws IOException {
+        PopulationCheckpoint saved = PopulationCheckpoint.read(checkpoint);
+        Population population = this.resumeRun(saved);
+
+        LOG.log(Level.INFO, "Resumed from {0} at generation {1}",
+                new Object[]{checkpoint, saved.getGeneration()});
+
+        return this._run(population, saved.getGeneration());
+    }
+
+    private Individual _run(Population population, int generation) {
+        // Start the evolution loop
+        // Every genetic algorithm problem has different criteria for finishing.
+        while (this.isStopConditionMet(population, generation) == false) {
+            // Print fittest individual from population
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.log(Level.FINE, "Best solution: {0}", population.getBestIndividual().toString());
+            }
+
+            // Apply crossover, mutation and evaluation
+            population = this.nextGeneration(population);
+
+            // Increment the current generation
+            generation++;
+
+            if (this.checkpointPath != null && this.checkpointInterval > 0
+                    && generation % this.checkpointInterval == 0) {
+                this._checkpoint(population, generation);
+            }
         }
+
+        this.finishRun(population);
+
+        // We have a perfect solution
+        LOG.log(Level.INFO, "Best solution [{0} generations]: {1}", 
+                new Object[]{generation, population.getBestIndividual().toString()});
+
+        if (this.fitnessCache != null) {
+            LOG.log(Level.INFO, "Fitness cache: {0} hits, {1} misses",
+                    new Object[]{this.fitnessCache.getHits(), this.fitnessCache.getMisses()});
+        }
+
+        return population.getBestIndividual();
+    }
+
+    /**
+     * First step of a run: restarts the random source and creates the
+     * evaluated initial population.
+     *
+     * @return the first generation
+     */
+    Population startRun() {
+        this._checkLayout();
+        this._checkHooks();
+        this._logConfiguration();
+
+        // Start the random sequence of this run
+        this.random = new RandomSource(this.seed);
+        this.metrics.startRun();
         
         // Initialize population
         Population population = this._initPopulation();
 
         // Evaluate population
         this._evalPopulation(population);
+        this.metrics.recordPopulation(population, false);
 
-        // Keep track of current generation
-        int generation = 1;
+        this._startEvolution(population);
 
-        // Start the evolution loop
-        // Every genetic algorithm problem has different criteria for finishing.
-        while (this.isTerminationConditionMet(population, generation) == false) {
-            // Print fittest individual from population
-            LOG.log(Level.FINE, "Best solution: {0}", population.getFittest(0).toString());
+        return population;
+    }
 
-            // Apply crossover
-            population = this._crossoverPopulation(population);
+    /**
+     * First step of a run resumed from a checkpoint: restores the random
+     * source, the evaluated population and the stagnation state. The fitness
+     * cache starts empty.
+     *
+     * @param checkpoint
+     * @return the saved generation
+     */
+    Population resumeRun(PopulationCheckpoint checkpoint) {
+        if (checkpoint.getChromosomeLength() != this.chromosomeLength
+                || checkpoint.getPopulation().size() != this.populationSize) {
+            throw new IllegalArgumentException("Checkpoint of " + checkpoint.getPopulation().size()
+                    + " individuals of length " + checkpoint.getChromosomeLength()
+                    + " does not match this genetic algorithm");
+        }
 
-            // Apply mutation
-            population = this._mutatePopulation(population);
+        this.chromosomeSelector = checkpoint.getChromosomeSelector();
+        this._checkLayout();
+        this._checkHooks();
+        this._logConfiguration();
+
+        // Continue the random sequence of the saved run
+        this.random = checkpoint.getRandom();
+        this.metrics.startRun();
+
+        Population population = checkpoint.getPopulation();
+        if (this.populationLayout != PopulationLayout.OBJECTS) {
+            Population saved = population;
+            population = this._createPopulation(saved.size());
+            for (int i = 0; i < saved.size(); i++) {
+                population.setIndividual(i, saved.getIndividual(i));
+            }
+            population.setPopulationFitness(saved.getPopulationFitness());
+        }
+        if (this instanceof DeltaFitness && this.populationLayout == PopulationLayout.OBJECTS) {
+            for (Individual individual : population.getIndividuals()) {
+                individual.enableChangeTracking(this._deltaCapacity());
+                // The saved fitness matches the genes
+                individual.clearChanges();
+            }
+        }
+        this.metrics.recordPopulation(population, false);
 
-            // Evaluate population
-            this._evalPopulation(population);
+        this._startEvolution(population);
+        // Continue counting the stagnation of the saved run
+        this.runBestFitness = checkpoint.getRunBestFitness();
+        this.stagnantGenerations = checkpoint.getStagnantGenerations();
 
-            // Increment the current generation
-            generation++;
+        return population;
+    }
+
+    private void _logConfiguration() {
+        if (LOG.isLoggable(Level.INFO)) {
+            String msg = "GA size {0} - chromosome {1} [{2}]\n"
+                    + "ParentSelector: {3}\n"
+                    + "CrossoverSelector: {4} [rate: {5}]\n"
+                    + "MutationSelector: {6} [rate: {7}]\n"
+                    + "EvaluationSelector: {8}\n"
+                    + "EvolutionMode: {9}\n"
+                    + "PopulationLayout: {10}\n"
+                    + "Seed: {11}";
+            Object[] params = {populationSize, chromosomeLength, chromosomeSelector,
+                parentSelector, crossoverSelector, crossoverRate, mutationSelector,
+                mutationRate, evaluationSelector, evolutionMode, populationLayout, Long.toString(seed)};
+            LOG.log(Level.INFO, msg, params);
         }
+    }
 
-        // We have a perfect solution
-        LOG.log(Level.INFO, "Best solution [{0} generations]: {1}", 
-                new Object[]{generation, population.getFittest(0).toString()});
+    private void _startEvolution(Population population) {
+        this.runBestFitness = Double.NEGATIVE_INFINITY;
+        this.stagnantGenerations = 0;
+
+        // Second population to breed into when double buffering
+        this.buffer = null;
+        this.heap = null;
+        this.async = null;
+        if (this.evolutionMode == EvolutionMode.DOUBLE_BUFFERED
+                || (this.evolutionMode == EvolutionMode.GENERATIONAL && this.populationLayout != PopulationLayout.OBJECTS)) {
+            this.buffer = this._createPopulation(population.size());
+        } else if (this.evolutionMode == EvolutionMode.STEADY_STATE) {
+            this.buffer = this._createPopulation(this.steadyStateOffspring);
+            this.heap = new FitnessHeap(population);
+        } else if (this.evolutionMode == EvolutionMode.ASYNC_STEADY_STATE) {
+            this.async = new AsyncSteadyState(this, population, this.asyncWorkers, this.metrics);
+            this.async.start(this.random);
+        }
+    }
 
-        return population.getFittest(0);
+    /**
+     * Breeds and evaluates the next generation of a run started by startRun.
+     *
+     * @param population the current generation
+     * @return the next generation
+     */
+    Population nextGeneration(Population population) {
+        if (this.async != null) {
+            this.async.awaitGeneration();
+        } else if (this.heap != null) {
+            this._steadyStateGeneration(population);
+        } else {
+            population = this._generation(population);
+        }
+        this.metrics.recordPopulation(population, true);
+
+        return population;
+    }
+
+    private Population _generation(Population population) {
+        if (this.evolutionMode == EvolutionMode.GENERATIONAL) {
+            // Stored layouts cross into the buffer and mutate back into the current population
+            Population crossed = (this.buffer == null) ? new Population(population.size()) : this.buffer;
+            Population mutated = (this.buffer == null) ? new Population(this.getPopulationSize()) : population;
+
+            // Apply crossover
+            population = this._crossoverPopulation(population, crossed);
+
+            // Apply mutation
+            population = this._mutatePopulation(population, mutated);
+        } else {
+            // Breed into the buffer and swap populations
+            this._breedPopulation(population, this.buffer);
+            Population previous = population;
+            population = this.buffer;
+            this.buffer = previous;
+        }
+
+        // Evaluate population
+        this._evalPopulation(population);
+
+        return population;
     }
     
     private Population _initPopulation() {
-        Population population = new Population(this.getPopulationSize());
+        // Individuals with chromosomes of the given length
+        Population population = this._createPopulation(this.getPopulationSize());
 
-        // Create each individual in turn
+        // Populate each individual in turn
         for (int individualCount = 0; individualCount < this.getPopulationSize(); individualCount++) {
-            // Create an individual, initializing its chromosome to the given length
-            Individual individual = new Individual(chromosomeLength);
-            
-            this.populateChromosome(individual);
-            
-            // Add individual to population
-            population.setIndividual(individualCount, individual);
+            this.populateChromosome(population.getIndividual(individualCount));
         }
 
         return population;
     }
 
-    private void _evalPopulation(Population population) {
-        double populationFitness = 0;
+    private Population _createPopulation(int size) {
+        Population population = this.populationLayout.createPopulation(size, this.chromosomeLength,
+                this.chromosomeSelector);
+
+        // Stored individuals are views that do not keep a change log
+        if (this instanceof DeltaFitness && this.populationLayout == PopulationLayout.OBJECTS) {
+            for (Individual individual : population.getIndividuals()) {
+                individual.enableChangeTracking(this._deltaCapacity());
+            }
+        }
+
+        return population;
+    }
+
+    private void _checkLayout() {
+        if (this.populationLayout != PopulationLayout.OBJECTS
+                && (this.chromosomeSelector != ChromosomeSelector.INTEGER_CHROMOSOME
+                || this.evolutionMode == EvolutionMode.ASYNC_STEADY_STATE)) {
+            throw new IllegalStateException("Population layout " + this.populationLayout
+                    + " does not support " + this.chromosomeSelector + " in " + this.evolutionMode + " mode");
+        }
+    }
+
+    private void _checkHooks() {
+        // The workers breed with their own random source
+        if (this.evolutionMode == EvolutionMode.ASYNC_STEADY_STATE && this.crossoverHookOnly) {
+            throw new IllegalStateException("Override crossover(parent1, parent2, offspring, rng) to use "
+                    + EvolutionMode.ASYNC_STEADY_STATE);
+        }
+        if (this.evolutionMode == EvolutionMode.ASYNC_STEADY_STATE && this.mutationHookOnly) {
+            throw new IllegalStateException("Override mutateGene(individual, geneIndex, rng) to use "
+                    + EvolutionMode.ASYNC_STEADY_STATE);
+        }
+    }
+
+    /**
+     * Last step of a run, stops the asynchronous workers if any.
+     *
+     * @param population the last generation
+     */
+    void finishRun(Population population) {
+        if (this.async != null) {
+            this.async.stop();
+            this.async = null;
+        }
+    }
 
-        // Loop over population evaluating individuals and suming population
-        // fitness
-        for (Individual individual : population.getIndividuals()) {
-            populationFitness += this.calcFitness(individual);
+    private void _checkpoint(Population population, int generation) {
+        long start = System.nanoTime();
+        try {
+            PopulationCheckpoint.write(this.checkpointPath, population, generation,
+                    this.chromosomeSelector, this.chromosomeLength, this.random,
+                    this.runBestFitness, this.stagnantGenerations);
+        } catch (IOException e) {
+            // Keep evolving, the previous checkpoint is still there
+            LOG.log(Level.WARNING, "Unable to write checkpoint " + this.checkpointPath, e);
+            return;
         }
 
+        if (LOG.isLoggable(Level.FINE)) {
+            LOG.log(Level.FINE, "Checkpoint of generation {0} written in {1} ms",
+                    new Object[]{generation, (System.nanoTime() - start) / 1000000});
+        }
+    }
+
+    private int _deltaCapacity() {
+        return Math.max(1, (int) (this.chromosomeLength * this.deltaChangeRatio));
+    }
+
+
+    private void _evalPopulation(Population population) {
+        long time = this.metrics.time();
+        population.resetStatistics();
+        double populationFitness = this.evaluationSelector.evalPopulation(this, population);
+        this.metrics.addEvaluation(time, population.size());
+
         population.setPopulationFitness(populationFitness);
     }
 
-    private Population _crossoverPopulation(Population population) {
-        // Create new population
-        Population newPopulation = new Population(population.size());
+    private Population _crossoverPopulation(Population population, Population newPopulation) {
+        long time = this.metrics.time();
+        Individual parent1 = null;
+        Individual parent2 = null;
+        Individual view = null;
 
         // Loop over current population by fitness
         for (int populationIndex = 0; populationIndex < population.size(); populationIndex++) {
-            Individual parent1 = population.getFittest(populationIndex);
+            parent1 = population.getIndividual(population.getFittestIndex(populationIndex), parent1);
 
             // Apply crossover to this individual?
-            if (getCrossoverRate() > Math.random() && populationIndex >= getElitismCount()) {
+            if (getCrossoverRate() > this.random.nextDouble() && populationIndex >= getElitismCount()) {
                 // Find second parent
-                Individual parent2 = parentSelector.selectParent(population);
+                parent2 = population.getIndividual(parentSelector.selectParentIndex(population, this.random), parent2);
+                time = this.metrics.addSelection(time);
 
                 // Get offspring
                 Individual offspring = this.crossover(parent1, parent2);
+                time = this.metrics.addCrossover(time);
 
                 // Add offspring to new population
-                newPopulation.setIndividual(populationIndex, offspring);
+                view = newPopulation.setIndividual(populationIndex, offspring, view);
             } else {
                 // Add individual to new population without applying crossover
-                newPopulation.setIndividual(populationIndex, parent1);
+                view = newPopulation.setIndividual(populationIndex, parent1, view);
             }
         }
+        this.metrics.addSelection(time);
 
         return newPopulation;
     }
 
-    private Population _mutatePopulation(Population population) {
-        // Initialize new population
-        Population newPopulation = new Population(this.getPopulationSize());
+    private Population _mutatePopulation(Population population, Population newPopulation) {
+        long time = this.metrics.time();
+        Individual individual = null;
+        Individual view = null;
 
         // Loop over current population by fitness
         for (int populationIndex = 0; populationIndex < population.size(); populationIndex++) {
-            Individual individual = population.getFittest(populationIndex);
-
-            // Loop over individual's genes
-            for (int geneIndex = 0; geneIndex < individual.getChromosomeLength(); geneIndex++) {
-                // Skip mutation if this is an elite individual
-                if (populationIndex > this.getElitismCount()) {
-                    // Does this gene need mutation?
-                    if (this.getMutationRate() > Math.random()) {
-                        this.mutateGene(individual, geneIndex);
-                    }
-                }
+            individual = population.getIndividual(population.getFittestIndex(populationIndex), individual);
+
+            // Skip mutation if this is an elite individual
+            if (populationIndex > this.getElitismCount()) {
+                this.mutateIndividual(individual, this.random);
             }
 
             // Add individual to population
-            newPopulation.setIndividual(populationIndex, individual);
+            view = newPopulation.setIndividual(populationIndex, individual, view);
         }
+        this.metrics.addMutation(time);
 
         // Return mutated population
         return newPopulation;
     }
 
+    /**
+     * Mutates each gene with probability mutationRate.
+     * 
+     * Instead of drawing a random number per gene, the distance to the next
+     * mutated gene is drawn from the geometric distribution, which gives the
+     * same statistics with about rate * length random draws.
+     *
+     * @param individual
+     * @param rng
+     */
+    void mutateIndividual(Individual individual, RandomSource rng) {
+        int chromosomeLength = individual.getChromosomeLength();
+        double rate = this.getMutationRate();
+
+        if (rate <= 0) {
+            return;
+        }
+        if (rate >= 1) {
+            for (int geneIndex = 0; geneIndex < chromosomeLength; geneIndex++) {
+                this._mutateGene(individual, geneIndex, rng);
+            }
+            return;
+        }
+
+        double logNoMutation = Math.log1p(-rate);
+        int geneIndex = -1;
+        while (true) {
+            // Genes skipped before the next mutation, 1 - random() is in (0, 1]
+            double skip = Math.floor(Math.log(1 - rng.nextDouble()) / logNoMutation);
+            if (skip >= chromosomeLength - geneIndex - 1) {
+                return;
+            }
+            geneIndex += (int) skip + 1;
+            this._mutateGene(individual, geneIndex, rng);
+        }
+    }
+
+    private void _crossover(Individual parent1, Individual parent2, Individual offspring) {
+        if (this.crossoverHookOnly) {
+            offspring.copyFrom(this.crossover(parent1, parent2));
+        } else {
+            this.crossover(parent1, parent2, offspring);
+        }
+    }
+
+    private void _mutateGene(Individual individual, int geneIndex, RandomSource rng) {
+        // The thread running the genetic algorithm goes through the hook
+        if (rng == this.random) {
+            this.mutateGene(individual, geneIndex);
+        } else {
+            this.mutateGene(individual, geneIndex, rng);
+        }
+    }
+
+    /**
+     * Crossover and mutation of the double buffered mode. The offspring are
+     * written over the individuals of the buffer, in the same positions the
+     * generational mode would give them.
+     *
+     * @param population current population, already evaluated
+     * @param buffer population overwritten with the next generation
+     */
+    private void _breedPopulation(Population population, Population buffer) {
+        long time = this.metrics.time();
+        Individual parent1 = null;
+        Individual parent2 = null;
+        Individual offspring = null;
+
+        // Loop over current population by fitness
+        for (int populationIndex = 0; populationIndex < population.size(); populationIndex++) {
+            parent1 = population.getIndividual(population.getFittestIndex(populationIndex), parent1);
+            offspring = buffer.getIndividual(populationIndex, offspring);
+
+            // Apply crossover to this individual?
+            if (getCrossoverRate() > this.random.nextDouble() && populationIndex >= getElitismCount()) {
+                // Find second parent
+                parent2 = population.getIndividual(parentSelector.selectParentIndex(population, this.random), parent2);
+                time = this.metrics.addSelection(time);
+
+                // Write offspring over the buffered individual
+                this._crossover(parent1, parent2, offspring);
+            } else {
+                time = this.metrics.addSelection(time);
+
+                // Copy individual without applying crossover
+                offspring.copyFrom(parent1);
+            }
+            time = this.metrics.addCrossover(time);
+
+            // Skip mutation if this is an elite individual
+            if (populationIndex > this.getElitismCount()) {
+                this.mutateIndividual(offspring, this.random);
+                time = this.metrics.addMutation(time);
+            }
+        }
+    }
+
+    /**
+     * Breeds and evaluates the offspring of a steady state generation, which
+     * then replace the worst individuals.
+     *
+     * @param population current population, changed in place
+     */
+    private void _steadyStateGeneration(Population population) {
+        Population offspringPopulation = this.buffer;
+        long time = this.metrics.time();
+        Individual parent1 = null;
+        Individual parent2 = null;
+        Individual offspring = null;
+
+        for (int offspringIndex = 0; offspringIndex < offspringPopulation.size(); offspringIndex++) {
+            offspring = offspringPopulation.getIndividual(offspringIndex, offspring);
+            parent1 = population.getIndividual(parentSelector.selectParentIndex(population, this.random), parent1);
+
+            // Apply crossover to this individual?
+            if (getCrossoverRate() > this.random.nextDouble()) {
+                parent2 = population.getIndividual(parentSelector.selectParentIndex(population, this.random), parent2);
+                time = this.metrics.addSelection(time);
+                this._crossover(parent1, parent2, offspring);
+            } else {
+                time = this.metrics.addSelection(time);
+                offspring.copyFrom(parent1);
+            }
+            time = this.metrics.addCrossover(time);
+
+            this.mutateIndividual(offspring, this.random);
+            time = this.metrics.addMutation(time);
+        }
+
+        // Evaluate offspring
+        this._evalPopulation(offspringPopulation);
+
+        for (int offspringIndex = 0; offspringIndex < offspringPopulation.size(); offspringIndex++) {
+            offspring = offspringPopulation.getIndividual(offspringIndex, offspring);
+            this.replaceWorst(population, offspring);
+        }
+    }
+
+    /**
+     * Overwrites the worst individual of the population with a copy of an
+     * evaluated individual, if it is at least as fit. In the asynchronous
+     * steady state mode the copy is queued for the workers instead.
+     *
+     * @param population
+     * @param individual the candidate to enter the population
+     * @return true if the population changed, always false when queued
+     */
+    boolean replaceWorst(Population population, Individual individual) {
+        if (this.async != null) {
+            this.async.replaceWorst(individual);
+            return false;
+        }
+
+        int worstIndex = (this.heap != null) ? this.heap.peekWorst() : population.getWorstIndex();
+        Individual worst = population.getIndividual(worstIndex);
+
+        if (individual.getFitness() < worst.getFitness()) {
+            return false;
+        }
+
+        double previous = worst.getFitness();
+        worst.copyFrom(individual);
+        if (this.heap != null) {
+            this.heap.update(worstIndex);
+        }
+        // Also ranks the population again
+        population.replaceFitness(worstIndex, previous, individual.getFitness());
+
+        return true;
+    }
+
     /**
      * @return the populationSize
      */
@@ -421,6 +1283,182 @@ public abstract class GeneticAlgorithm {
         this.maxGenerations = maxGenerations;
     }
 
+    /**
+     * @return the evolutionMode
+     */
+    public EvolutionMode getEvolutionMode() {
+        return evolutionMode;
+    }
+
+    /**
+     * @param evolutionMode the evolutionMode to set
+     */
+    public void setEvolutionMode(EvolutionMode evolutionMode) {
+        this.evolutionMode = evolutionMode;
+    }
+
+    /**
+     * @return the asyncWorkers
+     */
+    public int getAsyncWorkers() {
+        return asyncWorkers;
+    }
+
+    /**
+     * @param asyncWorkers worker threads of the asynchronous steady state
+     * mode, at least 1
+     */
+    public void setAsyncWorkers(int asyncWorkers) {
+        if (asyncWorkers < 1) {
+            throw new IllegalArgumentException("asyncWorkers must be at least 1");
+        }
+        this.asyncWorkers = asyncWorkers;
+    }
+
+    /**
+     * @return the steadyStateOffspring
+     */
+    public int getSteadyStateOffspring() {
+        return steadyStateOffspring;
+    }
+
+    /**
+     * @param steadyStateOffspring offspring bred per generation in the steady
+     * state mode
+     */
+    public void setSteadyStateOffspring(int steadyStateOffspring) {
+        this.steadyStateOffspring = steadyStateOffspring;
+    }
+
+    /**
+     * @return the deltaChangeRatio
+     */
+    public double getDeltaChangeRatio() {
+        return deltaChangeRatio;
+    }
+
+    /**
+     * @param deltaChangeRatio changes recorded per individual for delta
+     * evaluation, as a fraction of the chromosome length
+     */
+    public void setDeltaChangeRatio(double deltaChangeRatio) {
+        this.deltaChangeRatio = deltaChangeRatio;
+    }
+
+    /**
+     * @return the targetFitness
+     */
+    public double getTargetFitness() {
+        return targetFitness;
+    }
+
+    /**
+     * @param targetFitness fitness that stops the run, NaN to disable
+     */
+    public void setTargetFitness(double targetFitness) {
+        this.targetFitness = targetFitness;
+    }
+
+    /**
+     * @return the maxStagnation
+     */
+    public int getMaxStagnation() {
+        return maxStagnation;
+    }
+
+    /**
+     * @param maxStagnation generations without improvement of the best
+     * fitness that stop the run, 0 to disable
+     */
+    public void setMaxStagnation(int maxStagnation) {
+        this.maxStagnation = maxStagnation;
+    }
+
+    /**
+     * @return the checkpointPath
+     */
+    public Path getCheckpointPath() {
+        return checkpointPath;
+    }
+
+    /**
+     * @param checkpointPath file the population is saved to, null to disable
+     * checkpoints
+     */
+    public void setCheckpointPath(Path checkpointPath) {
+        this.checkpointPath = checkpointPath;
+    }
+
+    /**
+     * @return the checkpointInterval
+     */
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    /**
+     * @param checkpointInterval generations between checkpoints
+     */
+    public void setCheckpointInterval(int checkpointInterval) {
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * @return the seed of the random source
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the seed and restarts the random source
+     *
+     * @param seed the seed of the random source
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.random = new RandomSource(seed);
+    }
+
+    /**
+     * Random source of the run, to be used from the thread calling run (for
+     * example in populateChromosome). Other threads must split it.
+     *
+     * @return the random source
+     */
+    public RandomSource getRandom() {
+        return random;
+    }
+
+    /**
+     *
+     * @param chromosomeSelector
+     */
+    public void setChromosomeSelector(ChromosomeSelector chromosomeSelector) {
+        this.chromosomeSelector = chromosomeSelector;
+    }
+
+    /**
+     * @return the populationLayout
+     */
+    public PopulationLayout getPopulationLayout() {
+        return populationLayout;
+    }
+
+    /**
+     * @param populationLayout how the individuals of a population are stored
+     */
+    public void setPopulationLayout(PopulationLayout populationLayout) {
+        this.populationLayout = populationLayout;
+    }
+
+    /**
+     * @return the parentSelector
+     */
+    public ParentSelector getParentSelector() {
+        return parentSelector;
+    }
+
     /**
      *
      * @param parentSelector
@@ -445,6 +1483,88 @@ public abstract class GeneticAlgorithm {
         this.crossoverSelector = crossoverSelector;
     }
 
+    /**
+     *
+     * @param evaluationSelector
+     */
+    public void setEvaluationSelector(EvaluationSelector evaluationSelector) {
+        this.evaluationSelector = evaluationSelector;
+    }
+
+    /**
+     * @return the pool used by the parallel evaluation
+     */
+    public ForkJoinPool getEvaluationPool() {
+        return evaluationPool;
+    }
+
+    /**
+     * @param evaluationPool the pool used by the parallel evaluation
+     */
+    public void setEvaluationPool(ForkJoinPool evaluationPool) {
+        this.evaluationPool = evaluationPool;
+    }
+
+    /**
+     * @return the fitness cache, null if disabled
+     */
+    public FitnessCache getFitnessCache() {
+        return fitnessCache;
+    }
+
+    /**
+     * @param fitnessCache the fitness cache to use, null to disable it
+     */
+    public void setFitnessCache(FitnessCache fitnessCache) {
+        this.fitnessCache = fitnessCache;
+    }
+
+    /**
+     * Starts recording the metrics and registers them in the platform MBean
+     * server, under es.pdsanchez.ai.ga:type=GeneticAlgorithm with the class
+     * name and identity of this genetic algorithm.
+     */
+    public void enableMetrics() {
+        this.metrics.setEnabled(true);
+        if (this.metricsName != null) {
+            return;
+        }
+
+        try {
+            ObjectName name = new ObjectName("es.pdsanchez.ai.ga:type=GeneticAlgorithm,name="
+                    + ObjectName.quote(this.getClass().getName())
+                    + ",id=" + Integer.toHexString(System.identityHashCode(this)));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this.metrics, name);
+            this.metricsName = name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to register the metrics MBean", e);
+        }
+    }
+
+    /**
+     * Stops recording the metrics and unregisters the MBean
+     */
+    public void disableMetrics() {
+        this.metrics.setEnabled(false);
+        if (this.metricsName == null) {
+            return;
+        }
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.metricsName);
+        } catch (JMException e) {
+            LOG.log(Level.WARNING, "Unable to unregister the metrics MBean", e);
+        }
+        this.metricsName = null;
+    }
+
+    /**
+     * @return the metrics of the current run, recorded only while enabled
+     */
+    public GeneticAlgorithmMXBean getMetrics() {
+        return this.metrics;
+    }
+
     public final void activeLogs() {
         LOG.setLevel(Level.INFO);
     }
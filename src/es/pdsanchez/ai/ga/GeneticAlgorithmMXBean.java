@@ -0,0 +1,93 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga;
+
+/**
+ * Management interface of a running genetic algorithm, registered by
+ * GeneticAlgorithm.enableMetrics.
+ *
+ * Times are cumulative since the start of the current run.
+ *
+ * @author pdsanchez
+ */
+public interface GeneticAlgorithmMXBean {
+
+    /**
+     * @return generations completed in the current run
+     */
+    public long getGeneration();
+
+    /**
+     * @return fitness of the best individual of the last generation
+     */
+    public double getBestFitness();
+
+    /**
+     * @return mean fitness of the last generation
+     */
+    public double getMeanFitness();
+
+    /**
+     * @return fitness of the worst individual of the last generation
+     */
+    public double getWorstFitness();
+
+    /**
+     * @return individuals evaluated in the current run
+     */
+    public long getEvaluations();
+
+    /**
+     * @return individuals evaluated per second since the start of the run
+     */
+    public double getEvaluationsPerSecond();
+
+    /**
+     * @return nanoseconds spent selecting parents
+     */
+    public long getSelectionNanos();
+
+    /**
+     * @return nanoseconds spent in crossover, including the copy of the
+     * individuals that are not crossed
+     */
+    public long getCrossoverNanos();
+
+    /**
+     * @return nanoseconds spent in mutation
+     */
+    public long getMutationNanos();
+
+    /**
+     * @return nanoseconds spent evaluating individuals
+     */
+    public long getEvaluationNanos();
+
+    /**
+     * @return bytes allocated by the thread running the genetic algorithm in
+     * the last generation, or -1 if the JVM does not measure it
+     */
+    public long getAllocatedBytesPerGeneration();
+}
@@ -0,0 +1,238 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of a genetic algorithm, exposed through JMX.
+ *
+ * Phases are timed as laps: each call adds the time since the previous
+ * timestamp to a counter and returns the new one, so timing a sequence of
+ * phases takes one System.nanoTime call per phase. While disabled the calls
+ * return at once. Counters are LongAdders, workers of the parallel modes can
+ * update them without contention.
+ *
+ * @author pdsanchez
+ */
+class GeneticAlgorithmMetrics implements GeneticAlgorithmMXBean {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private volatile boolean enabled = false;
+
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder selectionNanos = new LongAdder();
+    private final LongAdder crossoverNanos = new LongAdder();
+    private final LongAdder mutationNanos = new LongAdder();
+    private final LongAdder evaluationNanos = new LongAdder();
+
+    private volatile long generation;
+    private volatile double bestFitness;
+    private volatile double meanFitness;
+    private volatile double worstFitness;
+    private volatile long startNanos;
+    private volatile long allocatedBytesPerGeneration = -1;
+
+    // Allocation probe of the thread running the genetic algorithm
+    private long threadId;
+    private long allocatedBytes;
+
+    /**
+     * @return true if the metrics are recorded
+     */
+    boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * @param enabled whether the metrics are recorded
+     */
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Resets the metrics at the start of a run
+     */
+    void startRun() {
+        this.evaluations.reset();
+        this.selectionNanos.reset();
+        this.crossoverNanos.reset();
+        this.mutationNanos.reset();
+        this.evaluationNanos.reset();
+        this.generation = 0;
+        this.allocatedBytesPerGeneration = -1;
+        this.threadId = Thread.currentThread().getId();
+        this.allocatedBytes = this._allocatedBytes();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Records the state of the initial population, or of a new generation.
+     *
+     * @param population the evaluated population
+     * @param newGeneration true if a generation was completed
+     */
+    void recordPopulation(Population population, boolean newGeneration) {
+        if (this.enabled == false) {
+            return;
+        }
+
+        this.bestFitness = population.getBestFitness();
+        this.worstFitness = population.getWorstFitness();
+        this.meanFitness = population.getMeanFitness();
+
+        long allocated = this._allocatedBytes();
+        if (newGeneration) {
+            this.generation++;
+            if (allocated >= 0 && this.allocatedBytes >= 0) {
+                this.allocatedBytesPerGeneration = allocated - this.allocatedBytes;
+            }
+        }
+        this.allocatedBytes = allocated;
+    }
+
+    /**
+     * @return the timestamp a lap starts from, 0 while disabled
+     */
+    long time() {
+        return this.enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * @param start timestamp of the start of the lap
+     * @return timestamp of the end of the lap
+     */
+    long addSelection(long start) {
+        return this._lap(this.selectionNanos, start);
+    }
+
+    /**
+     * @param start timestamp of the start of the lap
+     * @return timestamp of the end of the lap
+     */
+    long addCrossover(long start) {
+        return this._lap(this.crossoverNanos, start);
+    }
+
+    /**
+     * @param start timestamp of the start of the lap
+     * @return timestamp of the end of the lap
+     */
+    long addMutation(long start) {
+        return this._lap(this.mutationNanos, start);
+    }
+
+    /**
+     * @param start timestamp of the start of the lap
+     * @param count individuals evaluated in the lap
+     * @return timestamp of the end of the lap
+     */
+    long addEvaluation(long start, int count) {
+        if (this.enabled == false) {
+            return 0;
+        }
+        this.evaluations.add(count);
+        return this._lap(this.evaluationNanos, start);
+    }
+
+    private long _lap(LongAdder counter, long start) {
+        if (this.enabled == false) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        // A lap started while disabled is not counted
+        if (start != 0) {
+            counter.add(now - start);
+        }
+        return now;
+    }
+
+    private long _allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(this.threadId);
+        }
+        return -1;
+    }
+
+    @Override
+    public long getGeneration() {
+        return this.generation;
+    }
+
+    @Override
+    public double getBestFitness() {
+        return this.bestFitness;
+    }
+
+    @Override
+    public double getMeanFitness() {
+        return this.meanFitness;
+    }
+
+    @Override
+    public double getWorstFitness() {
+        return this.worstFitness;
+    }
+
+    @Override
+    public long getEvaluations() {
+        return this.evaluations.sum();
+    }
+
+    @Override
+    public double getEvaluationsPerSecond() {
+        double seconds = (System.nanoTime() - this.startNanos) / 1e9;
+        return (seconds > 0) ? this.evaluations.sum() / seconds : 0;
+    }
+
+    @Override
+    public long getSelectionNanos() {
+        return this.selectionNanos.sum();
+    }
+
+    @Override
+    public long getCrossoverNanos() {
+        return this.crossoverNanos.sum();
+    }
+
+    @Override
+    public long getMutationNanos() {
+        return this.mutationNanos.sum();
+    }
+
+    @Override
+    public long getEvaluationNanos() {
+        return this.evaluationNanos.sum();
+    }
+
+    @Override
+    public long getAllocatedBytesPerGeneration() {
+        return this.allocatedBytesPerGeneration;
+    }
+}
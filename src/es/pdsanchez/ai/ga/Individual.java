@@ -24,8 +24,7 @@
  */
 package es.pdsanchez.ai.ga;
 
-import java.util.Random;
-import java.util.concurrent.ThreadLocalRandom;
+import java.nio.ByteBuffer;
 
 /**
  * An "Individual" represents a single candidate solution. The core piece of
@@ -47,9 +46,18 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class Individual implements Comparable<Individual> {
 
+    // FNV-1a 64 bit parameters for chromosomeHash
+    protected static final long HASH_SEED = 0xcbf29ce484222325L;
+    protected static final long HASH_PRIME = 0x100000001b3L;
+
     private final int[] chromosome;
     private double fitness = -1;
 
+    // Gene change log for delta evaluation, (index, previous, gene) triples
+    private int[] changes;
+    private int changeCount;
+    private boolean changesOverflow = true;
+
     /**
      * Initializes individual with specific chromosome
      *
@@ -69,45 +77,333 @@ public class Individual implements Comparable<Individual> {
         this.chromosome = new int[chromosomeLength];
     }
 
+    /**
+     * For subclasses that keep the genes in their own storage. They must
+     * override every method that reads the chromosome array directly.
+     */
+    protected Individual() {
+        this.chromosome = null;
+    }
+
+    /**
+     * Creates an individual with the same kind and length of chromosome, which
+     * is the way operators build offspring without knowing the gene storage.
+     * 
+     * @return a new individual with an unset chromosome
+     */
+    public Individual createEmpty() {
+        Individual empty = this.newInstance();
+        if (this.changes != null) {
+            empty.enableChangeTracking(this.changes.length / 3);
+        }
+        return empty;
+    }
+
+    /**
+     * Creates the bare individual returned by createEmpty. Subclasses with
+     * their own gene storage override this one.
+     * 
+     * @return a new individual with an unset chromosome
+     */
+    protected Individual newInstance() {
+        return new Individual(this.chromosome.length);
+    }
+
+    /**
+     * Overwrites this individual with the chromosome and fitness of another
+     * one of the same length.
+     * 
+     * @param source the individual to copy
+     */
+    public void copyFrom(Individual source) {
+        if (this.chromosome != null && source.chromosome != null) {
+            System.arraycopy(source.chromosome, 0, this.chromosome, 0, this.chromosome.length);
+        } else {
+            for (int gene = 0; gene < this.getChromosomeLength(); gene++) {
+                this.setGene(gene, source.getGene(gene));
+            }
+        }
+        this.setFitness(source.getFitness());
+        this.copyChanges(source);
+    }
+
+    /**
+     * Starts recording the genes changed through setGene, so the fitness of
+     * a DeltaFitness problem can be updated from them. Once more than
+     * capacity changes are recorded the individual needs a full evaluation.
+     * 
+     * @param capacity maximum number of changes to record
+     */
+    public void enableChangeTracking(int capacity) {
+        this.changes = new int[capacity * 3];
+        this.changeCount = 0;
+        this.changesOverflow = true;
+    }
+
+    /**
+     * @return true if the individual records its gene changes
+     */
+    public boolean isChangeTrackingEnabled() {
+        return this.changes != null;
+    }
+
+    /**
+     * Whether the fitness can be updated from the recorded changes: changes
+     * are tracked, they fit in the log and the previous fitness was computed
+     * for the chromosome the log starts from.
+     * 
+     * @return true if a delta evaluation is possible
+     */
+    public boolean hasDelta() {
+        return this.changes != null && !this.changesOverflow;
+    }
+
+    /**
+     * Forgets the recorded changes, the current fitness matches the current
+     * chromosome. Called after each evaluation.
+     */
+    public void clearChanges() {
+        this.changeCount = 0;
+        this.changesOverflow = false;
+    }
+
+    /**
+     * Marks the whole chromosome as changed, for code that writes the genes
+     * without going through setGene. The next evaluation is a full one.
+     */
+    public void markAllChanged() {
+        this.changeCount = 0;
+        this.changesOverflow = true;
+    }
+
+    /**
+     * @return the number of recorded changes
+     */
+    public int getChangeCount() {
+        return this.changeCount;
+    }
+
+    /**
+     * @param change the change number, in the order they were made
+     * @return the index of the changed gene
+     */
+    public int getChangedGene(int change) {
+        return this.changes[change * 3];
+    }
+
+    /**
+     * @param change the change number, in the order they were made
+     * @return the value of the gene before the change
+     */
+    public int getPreviousGene(int change) {
+        return this.changes[change * 3 + 1];
+    }
+
+    /**
+     * @param change the change number, in the order they were made
+     * @return the value written by the change
+     */
+    public int getNewGene(int change) {
+        return this.changes[change * 3 + 2];
+    }
+
+    /**
+     * Records a gene change if tracking is enabled. Writes that leave the
+     * gene as it was are not recorded.
+     * 
+     * @param idx
+     * @param previous
+     * @param gene
+     */
+    protected final void recordChange(int idx, int previous, int gene) {
+        if (this.changes == null || this.changesOverflow || previous == gene) {
+            return;
+        }
+        int offset = this.changeCount * 3;
+        if (offset == this.changes.length) {
+            this.markAllChanged();
+            return;
+        }
+        this.changes[offset] = idx;
+        this.changes[offset + 1] = previous;
+        this.changes[offset + 2] = gene;
+        this.changeCount++;
+    }
+
+    /**
+     * Whether recordChange still records, so bulk writes can check the genes
+     * they overwrite only while it is true
+     *
+     * @return true if changes are tracked and the log is not full
+     */
+    protected final boolean isRecordingChanges() {
+        return this.changes != null && !this.changesOverflow;
+    }
+
+    /**
+     * After a copy the fitness is the one of the source, so the change log
+     * is valid only if the source one was empty.
+     * 
+     * @param source
+     */
+    protected final void copyChanges(Individual source) {
+        if (this.changes != null) {
+            this.changeCount = 0;
+            this.changesOverflow = source.changesOverflow || source.changeCount != 0;
+        }
+    }
+
     /**
      * This method assumes that the chromosome is made entirely of 0s and 1s. 
+     * 
+     * @param rng
      */
-    public void randomizeBinaryChromosome() {
-        int chromosomeLength = this.chromosome.length;
+    public void randomizeBinaryChromosome(RandomSource rng) {
+        int chromosomeLength = this.getChromosomeLength();
         
         for (int gene = 0; gene < chromosomeLength; gene++) {
-            int value = (0.5 < Math.random()) ? 1 : 0;
+            int value = (0.5 < rng.nextDouble()) ? 1 : 0;
             this.setGene(gene, value);
         }
     }
     
     /**
      * Implementing Fisher–Yates shuffle
+     * 
+     * @param rng
      */
-    public void shuffleChromosome() {
-        int chromosomeLength = this.chromosome.length;
+    public void shuffleChromosome(RandomSource rng) {
+        int chromosomeLength = this.getChromosomeLength();
         
-        Random rnd = ThreadLocalRandom.current();
         for (int i = chromosomeLength - 1; i > 0; i--) {
-            int index = rnd.nextInt(i + 1);
+            int index = rng.nextInt(i + 1);
             // Simple swap
-            int a = chromosome[index];
-            chromosome[index] = chromosome[i];
-            chromosome[i] = a;
+            this.swapGenes(index, i);
+        }
+    }
+
+    /**
+     * Copies a gene of another individual of the same kind. Operators use it
+     * instead of getGene and setGene so that no gene is narrowed to an int.
+     *
+     * @param source
+     * @param idx
+     */
+    public void copyGene(Individual source, int idx) {
+        this.setGene(idx, source.getGene(idx));
+    }
+
+    /**
+     * Copies the genes from index "from" (inclusive) to "to" (exclusive) of
+     * another individual of the same kind, as a bulk copy when possible.
+     *
+     * @param source
+     * @param from
+     * @param to
+     */
+    public void copyGenes(Individual source, int from, int to) {
+        if (this.chromosome != null && source.chromosome != null) {
+            // The genes that change, until the change log is full
+            for (int gene = from; gene < to && this.isRecordingChanges(); gene++) {
+                this.recordChange(gene, this.chromosome[gene], source.chromosome[gene]);
+            }
+            GeneKernels.copyRange(source.chromosome, this.chromosome, from, to);
+            return;
+        }
+        for (int gene = from; gene < to; gene++) {
+            this.copyGene(source, gene);
+        }
+    }
+
+    /**
+     * Uniform crossover of two individuals of the same kind into this one:
+     * each gene comes from one of them, picked by a bit of a random long per
+     * 64 genes. Int chromosomes are blended by GeneKernels, other gene
+     * storage goes through copyGene.
+     *
+     * @param parent1
+     * @param parent2
+     * @param rng
+     */
+    public void blendGenes(Individual parent1, Individual parent2, RandomSource rng) {
+        int chromosomeLength = this.getChromosomeLength();
+        boolean arrays = this.chromosome != null && parent1.chromosome != null && parent2.chromosome != null;
+
+        for (int block = 0; block < chromosomeLength; block += 64) {
+            long bits = rng.nextLong();
+            int end = Math.min(chromosomeLength, block + 64);
+
+            if (arrays) {
+                // The genes that change, until the change log is full
+                for (int gene = block; gene < end && this.isRecordingChanges(); gene++) {
+                    int[] source = (((bits >>> (gene - block)) & 1) != 0) ? parent1.chromosome : parent2.chromosome;
+                    this.recordChange(gene, this.chromosome[gene], source[gene]);
+                }
+                GeneKernels.blend(parent1.chromosome, parent2.chromosome, this.chromosome, bits, block, end);
+            } else {
+                for (int gene = block; gene < end; gene++) {
+                    this.copyGene((((bits >>> (gene - block)) & 1) != 0) ? parent1 : parent2, gene);
+                }
+            }
         }
     }
+
+    /**
+     * Swaps two genes of the chromosome
+     *
+     * @param idx1
+     * @param idx2
+     */
+    public void swapGenes(int idx1, int idx2) {
+        int gene = this.getGene(idx1);
+        this.setGene(idx1, this.getGene(idx2));
+        this.setGene(idx2, gene);
+    }
     
     public boolean containsGene(int gene) {
-    	int chromosomeLength = this.chromosome.length;
+    	int chromosomeLength = this.getChromosomeLength();
     	
 		for (int i = 0; i < chromosomeLength; i++) {
-			if (chromosome[i] == gene) {
+			if (this.getGene(i) == gene) {
 				return true;
 			}
 		}
 		return false;
 	}
 
+    /**
+     * @return bytes taken by the genes in a PopulationCheckpoint
+     */
+    public int getGenesBytes() {
+        return this.getChromosomeLength() * Integer.BYTES;
+    }
+
+    /**
+     * Writes the genes at the position of a buffer, getGenesBytes in total
+     *
+     * @param buffer
+     */
+    public void writeGenes(ByteBuffer buffer) {
+        int chromosomeLength = this.getChromosomeLength();
+        for (int gene = 0; gene < chromosomeLength; gene++) {
+            buffer.putInt(this.getGene(gene));
+        }
+    }
+
+    /**
+     * Reads the genes written by writeGenes. The fitness is not changed and
+     * the whole chromosome is marked as changed.
+     *
+     * @param buffer
+     */
+    public void readGenes(ByteBuffer buffer) {
+        int chromosomeLength = this.getChromosomeLength();
+        for (int gene = 0; gene < chromosomeLength; gene++) {
+            this.setGene(gene, buffer.getInt());
+        }
+        this.markAllChanged();
+    }
+
     /**
      * Gets individual's chromosome
      *
@@ -117,6 +413,18 @@ public class Individual implements Comparable<Individual> {
         return this.chromosome;
     }
 
+    /**
+     * Gives the gene array to the GeneKernels. Writes to it are not recorded
+     * in the change log, tracked individuals are written through copyGenes
+     * and blendGenes.
+     *
+     * @return The individual's genes, or null when they are not kept in an
+     * int array
+     */
+    public final int[] getIntGenes() {
+        return this.chromosome;
+    }
+
     /**
      * Gets individual's chromosome length
      *
@@ -126,6 +434,34 @@ public class Individual implements Comparable<Individual> {
         return this.chromosome.length;
     }
 
+    /**
+     * 64 bit hash of the chromosome, used as fitness cache key
+     *
+     * @return hash of the genes
+     */
+    public long chromosomeHash() {
+        long hash = HASH_SEED;
+        for (int gene = 0; gene < this.getChromosomeLength(); gene++) {
+            hash = (hash ^ this.getGene(gene)) * HASH_PRIME;
+        }
+        return mixHash(hash);
+    }
+
+    /**
+     * Final avalanche of a chromosome hash (MurmurHash3 fmix64)
+     *
+     * @param hash
+     * @return mixed hash
+     */
+    protected static long mixHash(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
     /**
      * Set gene at index
      *
@@ -133,6 +469,9 @@ public class Individual implements Comparable<Individual> {
      * @param idx
      */
     public void setGene(int idx, int gene) {
+        if (this.changes != null) {
+            this.recordChange(idx, this.chromosome[idx], gene);
+        }
         this.chromosome[idx] = gene;
     }
 
@@ -182,10 +521,10 @@ public class Individual implements Comparable<Individual> {
     @Override
     public String toString() {
         StringBuilder output = new StringBuilder();
-        for (int gene = 0; gene < this.chromosome.length; gene++) {
-            output.append(this.chromosome[gene]);
+        for (int gene = 0; gene < this.getChromosomeLength(); gene++) {
+            output.append(this.getGene(gene));
         }
-        output.append("\t").append(this.fitness);
+        output.append("\t").append(this.getFitness());
 
         return output.toString();
     }
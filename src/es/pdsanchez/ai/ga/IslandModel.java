@@ -0,0 +1,247 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+
+/**
+ * Island model: several genetic algorithms evolve their own population in
+ * parallel, one thread per island, and every few generations their best
+ * individuals migrate to another island.
+ *
+ * Each island keeps its own configuration (selector, crossover, mutation,
+ * rates...), but all of them must solve the same problem, since migrants keep
+ * the fitness computed on the island they come from. Migrants are copies
+ * handed over through lock-free queues: an island never waits for the others,
+ * it takes in whatever migrants have arrived at the end of each generation,
+ * replacing its worst individuals when they are fitter.
+ *
+ * @author pdsanchez
+ */
+public class IslandModel {
+
+    public static final int DEFAULT_MIGRATION_INTERVAL = 10;
+    public static final int DEFAULT_MIGRATION_COUNT = 2;
+
+    public enum Topology {
+
+        /**
+         * Island i sends its migrants to island i + 1
+         */
+        RING,
+        /**
+         * Migrants go to another island chosen at random
+         */
+        RANDOM
+    };
+
+    private final GeneticAlgorithm[] islands;
+    private final List<Queue<Individual>> inboxes;
+
+    private int migrationInterval;
+    private int migrationCount;
+    private Topology topology;
+    private long seed;
+
+    public IslandModel(GeneticAlgorithm... islands) {
+        this.islands = islands;
+        this.inboxes = new ArrayList<>(islands.length);
+
+        this.migrationInterval = DEFAULT_MIGRATION_INTERVAL;
+        this.migrationCount = DEFAULT_MIGRATION_COUNT;
+        this.topology = Topology.RING;
+        this.seed = RandomSource.randomSeed();
+    }
+
+    /**
+     * Evolves every island on its own thread until all of them meet their
+     * termination condition.
+     *
+     * @return the best individual found on any island
+     */
+    public Individual run() {
+        GeneticAlgorithm.LOG.log(Level.INFO, "Island model: {0} islands - {1} topology "
+                + "[{2} migrants every {3} generations]",
+                new Object[]{islands.length, topology, migrationCount, migrationInterval});
+
+        this.inboxes.clear();
+        for (int i = 0; i < islands.length; i++) {
+            this.inboxes.add(new ConcurrentLinkedQueue<Individual>());
+        }
+
+        // Split the random sources before starting, so they depend on the seed only
+        RandomSource random = new RandomSource(this.seed);
+        List<Callable<Individual>> tasks = new ArrayList<>(islands.length);
+        for (int i = 0; i < islands.length; i++) {
+            final int island = i;
+            final RandomSource rng = random.split();
+            tasks.add(() -> this.evolveIsland(island, rng));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(islands.length);
+        try {
+            Individual best = null;
+            List<Future<Individual>> results = executor.invokeAll(tasks);
+            for (Future<Individual> result : results) {
+                Individual fittest = result.get();
+                if (best == null || fittest.getFitness() > best.getFitness()) {
+                    best = fittest;
+                }
+            }
+
+            GeneticAlgorithm.LOG.log(Level.INFO, "Island model best solution: {0}", best);
+            return best;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Island model interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Island evolution failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Individual evolveIsland(int island, RandomSource rng) {
+        GeneticAlgorithm ga = this.islands[island];
+
+        Population population = ga.startRun();
+        int generation = 1;
+
+        while (ga.isStopConditionMet(population, generation) == false) {
+            population = ga.nextGeneration(population);
+            generation++;
+
+            if (generation % this.migrationInterval == 0) {
+                this.emigrate(island, population, rng);
+            }
+            this.immigrate(ga, island, population);
+        }
+
+        ga.finishRun(population);
+        return population.getBestIndividual();
+    }
+
+    /**
+     * Sends copies of the best individuals to the next island
+     */
+    private void emigrate(int island, Population population, RandomSource rng) {
+        if (this.islands.length < 2) {
+            return;
+        }
+
+        int target;
+        if (this.topology == Topology.RING) {
+            target = (island + 1) % this.islands.length;
+        } else {
+            // Any island but this one
+            target = (island + 1 + rng.nextInt(this.islands.length - 1)) % this.islands.length;
+        }
+
+        Queue<Individual> inbox = this.inboxes.get(target);
+        int count = Math.min(this.migrationCount, population.size());
+        for (int i = 0; i < count; i++) {
+            Individual migrant = population.getFittest(i).createEmpty();
+            migrant.copyFrom(population.getFittest(i));
+            inbox.offer(migrant);
+        }
+    }
+
+    /**
+     * Replaces the worst individuals with the migrants that have arrived
+     */
+    private void immigrate(GeneticAlgorithm ga, int island, Population population) {
+        Queue<Individual> inbox = this.inboxes.get(island);
+
+        Individual migrant;
+        while ((migrant = inbox.poll()) != null) {
+            ga.replaceWorst(population, migrant);
+        }
+    }
+
+    /**
+     * @return the islands
+     */
+    public GeneticAlgorithm[] getIslands() {
+        return islands;
+    }
+
+    /**
+     * @return the migrationInterval
+     */
+    public int getMigrationInterval() {
+        return migrationInterval;
+    }
+
+    /**
+     * @param migrationInterval generations between migrations
+     */
+    public void setMigrationInterval(int migrationInterval) {
+        this.migrationInterval = migrationInterval;
+    }
+
+    /**
+     * @return the migrationCount
+     */
+    public int getMigrationCount() {
+        return migrationCount;
+    }
+
+    /**
+     * @param migrationCount individuals sent by each island on every migration
+     */
+    public void setMigrationCount(int migrationCount) {
+        this.migrationCount = migrationCount;
+    }
+
+    /**
+     * @return the topology
+     */
+    public Topology getTopology() {
+        return topology;
+    }
+
+    /**
+     * @param topology the migration topology to set
+     */
+    public void setTopology(Topology topology) {
+        this.topology = topology;
+    }
+
+    /**
+     * @param seed the seed of the migration random source
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+}
@@ -24,9 +24,6 @@
  */
 package es.pdsanchez.ai.ga;
 
-import java.util.Arrays;
-import java.util.Random;
-
 /**
  * A population is an abstraction of a collection of individuals. The population
  * class is generally used to perform group-level operations on its individuals,
@@ -41,6 +38,36 @@ public class Population {
     private final Individual[] population;
     private double populationFitness = -1;
 
+    /**
+     * Indexes of the individuals ordered by fitness, built on demand and
+     * invalidated whenever an individual or the population fitness is set.
+     * The array is reused so that ranking a population again does not
+     * allocate.
+     */
+    private int[] ranking;
+    private boolean ranked = false;
+
+    /**
+     * Running sum of the fitness in population order, for roulette selection.
+     * Built on demand and invalidated along with the ranking.
+     */
+    private double[] cumulativeFitness;
+    private boolean accumulated = false;
+
+    /**
+     * Fitness statistics. The evaluation gathers them in the pass that sums
+     * the population fitness (see addFitness) and replaceFitness keeps them
+     * up to date, so reading them is O(1). When they were not gathered, or
+     * the best or worst individual was replaced, they are searched again on
+     * demand.
+     */
+    private int statisticsCount = -1;
+    private double sumOfSquares;
+    private int bestIndex = -1;
+    private double bestFitness;
+    private int worstIndex = -1;
+    private double worstFitness;
+
     /**
      * Initializes blank population of individuals
      *
@@ -61,6 +88,15 @@ public class Population {
         this.population = population;
     }
 
+    /**
+     * For subclasses that keep the individuals in their own storage. They
+     * must override size, getIndividuals, getIndividual, setIndividual,
+     * getFitness and shuffle.
+     */
+    protected Population() {
+        this.population = null;
+    }
+
     /**
      * Get individuals from the population
      *
@@ -79,16 +115,224 @@ public class Population {
      * (if you're looking to cull the population) or some of the strongest
      * individuals (if you're using "elitism").
      *
+     * The ranking is sorted once and reused until the population changes, so
+     * consecutive calls are O(1). Individual fitness values are expected to be
+     * set before the population fitness (as the evaluation does); changing
+     * them afterwards requires calling invalidateRanking.
+     *
      * @param idx The index of the individual you want, sorted by fitness. 0 is
      * the strongest, population.length - 1 is the weakest.
      * @return individual Individual at index
      */
     public Individual getFittest(int idx) {
-        // Order population by fitness
-        Arrays.sort(this.population);
-
         // Return the fittest individual
-        return this.population[idx];
+        return this.getIndividual(this.getFittestIndex(idx));
+    }
+
+    /**
+     * As getFittest, without getting the individual
+     *
+     * @param idx The index of the individual you want, sorted by fitness. 0 is
+     * the strongest, population.length - 1 is the weakest.
+     * @return the index of the individual in the population
+     */
+    public int getFittestIndex(int idx) {
+        if (this.ranked == false) {
+            // Order population by fitness
+            int size = this.size();
+            if (this.ranking == null) {
+                this.ranking = new int[size];
+            }
+            for (int i = 0; i < size; i++) {
+                this.ranking[i] = i;
+            }
+            this.sortByFitness(this.ranking);
+            this.ranked = true;
+        }
+
+        return this.ranking[idx];
+    }
+
+    /**
+     * Discards the fitness ranking and the cumulative fitness, they will be
+     * rebuilt when requested
+     */
+    public void invalidateRanking() {
+        this.ranked = false;
+        this.accumulated = false;
+    }
+
+    /**
+     * Running sum of the individuals fitness: element i is the fitness of
+     * individuals 0 to i. It is computed once per evaluation, so roulette
+     * selection can binary search it.
+     *
+     * @return cumulative fitness in population order
+     */
+    public double[] getCumulativeFitness() {
+        if (this.accumulated == false) {
+            int size = this.size();
+            if (this.cumulativeFitness == null) {
+                this.cumulativeFitness = new double[size];
+            }
+            double sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += this.getFitness(i);
+                this.cumulativeFitness[i] = sum;
+            }
+            this.accumulated = true;
+        }
+
+        return this.cumulativeFitness;
+    }
+
+    /**
+     * Starts gathering the statistics of a new evaluation. The fitness of
+     * every individual must then be added with addFitness.
+     */
+    public void resetStatistics() {
+        this.statisticsCount = 0;
+        this.sumOfSquares = 0;
+        this.bestIndex = -1;
+        this.worstIndex = -1;
+    }
+
+    /**
+     * Adds the fitness of an individual to the statistics, called by the
+     * evaluation once per individual after resetStatistics.
+     *
+     * @param idx
+     * @param fitness
+     */
+    public void addFitness(int idx, double fitness) {
+        this.sumOfSquares += fitness * fitness;
+        if (this.bestIndex == -1 || fitness > this.bestFitness) {
+            this.bestIndex = idx;
+            this.bestFitness = fitness;
+        }
+        if (this.worstIndex == -1 || fitness < this.worstFitness) {
+            this.worstIndex = idx;
+            this.worstFitness = fitness;
+        }
+        this.statisticsCount++;
+    }
+
+    /**
+     * Updates the population fitness and the statistics after the fitness
+     * of an individual has changed, as when the worst one is replaced.
+     *
+     * @param idx
+     * @param previous the fitness before the change
+     * @param fitness the new fitness
+     */
+    public void replaceFitness(int idx, double previous, double fitness) {
+        this.populationFitness += fitness - previous;
+        this.invalidateRanking();
+
+        if (this.statisticsCount != this.size()) {
+            return;
+        }
+        this.sumOfSquares += fitness * fitness - previous * previous;
+        if (fitness > this.bestFitness) {
+            this.bestIndex = idx;
+            this.bestFitness = fitness;
+        } else if (idx == this.bestIndex && fitness < previous) {
+            this.bestIndex = -1;
+        }
+        if (fitness < this.worstFitness) {
+            this.worstIndex = idx;
+            this.worstFitness = fitness;
+        } else if (idx == this.worstIndex && fitness > previous) {
+            this.worstIndex = -1;
+        }
+    }
+
+    /**
+     * @return the fitness of the best individual
+     */
+    public double getBestFitness() {
+        return this.getFitness(this.getBestIndex());
+    }
+
+    /**
+     * @return the fitness of the worst individual
+     */
+    public double getWorstFitness() {
+        return this.getFitness(this.getWorstIndex());
+    }
+
+    /**
+     * @return the mean fitness of the population
+     */
+    public double getMeanFitness() {
+        return this.populationFitness / this.size();
+    }
+
+    /**
+     * @return the variance of the fitness of the population
+     */
+    public double getFitnessVariance() {
+        this.gatherStatistics();
+        double mean = this.getMeanFitness();
+        return Math.max(0, this.sumOfSquares / this.size() - mean * mean);
+    }
+
+    /**
+     * Finds the fittest individual without ranking the population
+     *
+     * @return the best individual
+     */
+    public Individual getBestIndividual() {
+        return this.getIndividual(this.getBestIndex());
+    }
+
+    /**
+     * @return index of the best individual
+     */
+    public int getBestIndex() {
+        this.gatherStatistics();
+        if (this.bestIndex == -1) {
+            int best = 0;
+            for (int i = 1; i < this.size(); i++) {
+                if (this.getFitness(i) > this.getFitness(best)) {
+                    best = i;
+                }
+            }
+            this.bestIndex = best;
+            this.bestFitness = this.getFitness(best);
+        }
+        return this.bestIndex;
+    }
+
+    /**
+     * @return index of the worst individual
+     */
+    public int getWorstIndex() {
+        this.gatherStatistics();
+        if (this.worstIndex == -1) {
+            int worst = 0;
+            for (int i = 1; i < this.size(); i++) {
+                if (this.getFitness(i) < this.getFitness(worst)) {
+                    worst = i;
+                }
+            }
+            this.worstIndex = worst;
+            this.worstFitness = this.getFitness(worst);
+        }
+        return this.worstIndex;
+    }
+
+    /**
+     * Gathers the statistics if the evaluation did not
+     */
+    private void gatherStatistics() {
+        if (this.statisticsCount == this.size()) {
+            return;
+        }
+        this.resetStatistics();
+        for (int i = 0; i < this.size(); i++) {
+            this.addFitness(i, this.getFitness(i));
+        }
     }
 
     /**
@@ -98,6 +342,7 @@ public class Population {
      */
     public void setPopulationFitness(double fitness) {
         this.populationFitness = fitness;
+        this.invalidateRanking();
     }
 
     /**
@@ -126,9 +371,22 @@ public class Population {
      * @return individual
      */
     public Individual setIndividual(int idx, Individual individual) {
+        this.invalidateStatistics();
         return population[idx] = individual;
     }
 
+    /**
+     * As setIndividual, reusing a view as getIndividual(idx, reuse)
+     *
+     * @param idx
+     * @param individual
+     * @param reuse individual got before from this population, or null
+     * @return individual
+     */
+    Individual setIndividual(int idx, Individual individual, Individual reuse) {
+        return this.setIndividual(idx, individual);
+    }
+
     /**
      * Get individual at index
      *
@@ -139,16 +397,105 @@ public class Population {
         return population[idx];
     }
 
+    /**
+     * As getIndividual. Stored populations move the view got before from this
+     * method instead of creating a new one, so reuse must no longer be in use.
+     *
+     * @param idx
+     * @param reuse individual got before from this population, or null
+     * @return individual
+     */
+    Individual getIndividual(int idx, Individual reuse) {
+        return this.getIndividual(idx);
+    }
+
+    /**
+     * Get the fitness of the individual at index
+     *
+     * @param idx
+     * @return fitness
+     */
+    public double getFitness(int idx) {
+        return population[idx].getFitness();
+    }
+
+    /**
+     * Discards the ranking, the cumulative fitness and the statistics, after
+     * an individual was replaced
+     */
+    protected void invalidateStatistics() {
+        this.invalidateRanking();
+        this.statisticsCount = -1;
+    }
+
+    /**
+     * In-place heap sort of individual indexes in Individual's natural order
+     * (fittest first). Unlike Arrays.sort, it does not allocate a merge
+     * buffer.
+     *
+     * @param indexes
+     */
+    private void sortByFitness(int[] indexes) {
+        int n = indexes.length;
+
+        // Build the heap with the weakest individual on top
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            this.siftDown(indexes, i, n);
+        }
+
+        // Move the weakest to the end, one by one
+        for (int end = n - 1; end > 0; end--) {
+            int a = indexes[0];
+            indexes[0] = indexes[end];
+            indexes[end] = a;
+            this.siftDown(indexes, 0, end);
+        }
+    }
+
+    private void siftDown(int[] heap, int idx, int size) {
+        int individual = heap[idx];
+        int child;
+        while ((child = 2 * idx + 1) < size) {
+            if (child + 1 < size && compareFitness(this.getFitness(heap[child + 1]), this.getFitness(heap[child])) > 0) {
+                child++;
+            }
+            if (compareFitness(this.getFitness(heap[child]), this.getFitness(individual)) <= 0) {
+                break;
+            }
+            heap[idx] = heap[child];
+            idx = child;
+        }
+        heap[idx] = individual;
+    }
+
+    /**
+     * Individual.compareTo on fitness values
+     *
+     * @param fitness
+     * @param other
+     * @return negative if fitness is the higher one
+     */
+    private static int compareFitness(double fitness, double other) {
+        if (fitness > other) {
+            return -1;
+        } else if (fitness < other) {
+            return 1;
+        }
+        return 0;
+    }
+
     /**
      * Shuffles the population in-place
+     *
+     * @param rng
      */
-    public void shuffle() {
-        Random rnd = new Random();
+    public void shuffle(RandomSource rng) {
         for (int i = population.length - 1; i > 0; i--) {
-            int idx = rnd.nextInt(i + 1);
+            int idx = rng.nextInt(i + 1);
             Individual a = population[idx];
             population[idx] = population[i];
             population[i] = a;
         }
+        this.invalidateStatistics();
     }
 }
@@ -0,0 +1,291 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga;
+
+import es.pdsanchez.ai.ga.GeneticAlgorithm.ChromosomeSelector;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary snapshot of a population, written and read through a file channel.
+ *
+ * The file starts with a fixed size header (magic number, format version,
+ * generation, population size, chromosome selector, chromosome length, bytes
+ * of genes per individual, random source state, population fitness and the
+ * stagnation state of the run), followed by one record per individual: its
+ * fitness and its genes as written by Individual.writeGenes. Numbers are
+ * little endian. Records are moved in blocks of one reused buffer, so
+ * populations larger than 2 GB can be saved and no file stays mapped.
+ *
+ * The fitness cache of the run is not saved, a resumed run starts with an
+ * empty cache and refills it. Neither are the run metrics, they restart at
+ * the resumed generation.
+ *
+ * A checkpoint is written to a temporary file that then replaces the
+ * previous one, a crash while writing leaves the last complete checkpoint.
+ * The data is not forced to the disk, so that is guaranteed on a crash of
+ * the JVM but not of the operating system.
+ *
+ * @author pdsanchez
+ */
+public class PopulationCheckpoint {
+
+    public static final int MAGIC = 0x47414350; // "GACP"
+    public static final int VERSION = 2;
+
+    private static final int HEADER_BYTES = 80;
+    private static final int VERSION_1_HEADER_BYTES = 64;
+    private static final int BLOCK_BYTES = 1 << 20;
+
+    private final Population population;
+    private final int generation;
+    private final ChromosomeSelector chromosomeSelector;
+    private final int chromosomeLength;
+    private final RandomSource random;
+    private final double runBestFitness;
+    private final int stagnantGenerations;
+
+    private PopulationCheckpoint(Population population, int generation,
+            ChromosomeSelector chromosomeSelector, int chromosomeLength, RandomSource random,
+            double runBestFitness, int stagnantGenerations) {
+        this.population = population;
+        this.generation = generation;
+        this.chromosomeSelector = chromosomeSelector;
+        this.chromosomeLength = chromosomeLength;
+        this.random = random;
+        this.runBestFitness = runBestFitness;
+        this.stagnantGenerations = stagnantGenerations;
+    }
+
+    /**
+     * Saves an evaluated population
+     *
+     * @param path file of the checkpoint, replaced if it exists
+     * @param population
+     * @param generation generation of the population
+     * @param chromosomeSelector kind of the individuals
+     * @param chromosomeLength length of the chromosomes
+     * @param random random source of the run, to continue its sequence
+     * @param runBestFitness best fitness of the run so far
+     * @param stagnantGenerations generations without improvement of
+     * runBestFitness
+     * @throws IOException
+     */
+    public static void write(Path path, Population population, int generation,
+            ChromosomeSelector chromosomeSelector, int chromosomeLength, RandomSource random,
+            double runBestFitness, int stagnantGenerations) throws IOException {
+        int size = population.size();
+        int genesBytes = (size == 0)
+                ? chromosomeSelector.createIndividual(chromosomeLength).getGenesBytes()
+                : population.getIndividual(0).getGenesBytes();
+        int recordBytes = Double.BYTES + genesBytes;
+
+        Path parent = path.toAbsolutePath().getParent();
+        Path temporary = (parent == null)
+                ? Paths.get(path.getFileName() + ".tmp")
+                : parent.resolve(path.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            // One block of whole records, reused for the header and every record
+            int blockBytes = Math.max(1, BLOCK_BYTES / recordBytes) * recordBytes;
+            ByteBuffer block = ByteBuffer.allocateDirect(Math.max(HEADER_BYTES, blockBytes));
+            block.order(ByteOrder.LITTLE_ENDIAN);
+
+            block.putInt(MAGIC);
+            block.putInt(VERSION);
+            block.putLong(generation);
+            block.putInt(size);
+            block.putInt(chromosomeSelector.ordinal());
+            block.putInt(chromosomeLength);
+            block.putInt(genesBytes);
+            block.putLong(random.getState());
+            block.putLong(random.getGamma());
+            block.putDouble(population.getPopulationFitness());
+            block.putDouble(runBestFitness);
+            block.putInt(stagnantGenerations);
+            block.position(HEADER_BYTES);
+            _flush(channel, block);
+
+            for (int i = 0; i < size; i++) {
+                if (block.remaining() < recordBytes) {
+                    _flush(channel, block);
+                }
+                Individual individual = population.getIndividual(i);
+                block.putDouble(individual.getFitness());
+                individual.writeGenes(block);
+            }
+            _flush(channel, block);
+        }
+
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void _flush(FileChannel channel, ByteBuffer block) throws IOException {
+        block.flip();
+        while (block.hasRemaining()) {
+            channel.write(block);
+        }
+        block.clear();
+    }
+
+    /**
+     * Loads a checkpoint written by write
+     *
+     * @param path file of the checkpoint
+     * @return the checkpoint
+     * @throws IOException if the file can not be read or is not a checkpoint
+     */
+    public static PopulationCheckpoint read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Read up to the largest header
+            }
+            header.flip();
+            if (header.remaining() < VERSION_1_HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException("Not a population checkpoint: " + path);
+            }
+            int version = header.getInt();
+            if (version != VERSION && version != 1) {
+                throw new IOException("Unsupported checkpoint version " + version + ": " + path);
+            }
+            int generation = (int) header.getLong();
+            int size = header.getInt();
+            int chromosomeType = header.getInt();
+            if (chromosomeType < 0 || chromosomeType >= ChromosomeSelector.values().length) {
+                throw new IOException("Unknown chromosome type " + chromosomeType + ": " + path);
+            }
+            ChromosomeSelector chromosomeSelector = ChromosomeSelector.values()[chromosomeType];
+            int chromosomeLength = header.getInt();
+            int genesBytes = header.getInt();
+            RandomSource random = new RandomSource(header.getLong(), header.getLong());
+            double populationFitness = header.getDouble();
+
+            // Version 1 did not save the stagnation state, it restarts
+            int headerBytes = VERSION_1_HEADER_BYTES;
+            double runBestFitness = Double.NEGATIVE_INFINITY;
+            int stagnantGenerations = 0;
+            if (version == VERSION) {
+                headerBytes = HEADER_BYTES;
+                runBestFitness = header.getDouble();
+                stagnantGenerations = header.getInt();
+            }
+
+            int recordBytes = Double.BYTES + genesBytes;
+            if (size < 0 || channel.size() != headerBytes + (long) size * recordBytes) {
+                throw new IOException("Truncated population checkpoint: " + path);
+            }
+            if (chromosomeSelector.createIndividual(chromosomeLength).getGenesBytes() != genesBytes) {
+                throw new IOException("Unexpected gene size in checkpoint: " + path);
+            }
+
+            Population population = new Population(size);
+            ByteBuffer block = ByteBuffer.allocateDirect(Math.max(1, BLOCK_BYTES / recordBytes) * recordBytes);
+            block.order(ByteOrder.LITTLE_ENDIAN);
+            channel.position(headerBytes);
+            block.flip();
+            for (int i = 0; i < size; i++) {
+                if (block.remaining() < recordBytes) {
+                    _fill(channel, block);
+                }
+                Individual individual = chromosomeSelector.createIndividual(chromosomeLength);
+                individual.setFitness(block.getDouble());
+                individual.readGenes(block);
+                population.setIndividual(i, individual);
+            }
+            population.setPopulationFitness(populationFitness);
+
+            return new PopulationCheckpoint(population, generation, chromosomeSelector,
+                    chromosomeLength, random, runBestFitness, stagnantGenerations);
+        }
+    }
+
+    private static void _fill(FileChannel channel, ByteBuffer block) throws IOException {
+        block.compact();
+        while (block.hasRemaining() && channel.read(block) >= 0) {
+            // The size of the file was checked, it only stops at its end
+        }
+        block.flip();
+    }
+
+    /**
+     * @return the population, evaluated
+     */
+    public Population getPopulation() {
+        return population;
+    }
+
+    /**
+     * @return the generation of the population
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return the kind of the individuals
+     */
+    public ChromosomeSelector getChromosomeSelector() {
+        return chromosomeSelector;
+    }
+
+    /**
+     * @return the chromosome length
+     */
+    public int getChromosomeLength() {
+        return chromosomeLength;
+    }
+
+    /**
+     * @return the random source of the run, in the state it was saved
+     */
+    public RandomSource getRandom() {
+        return random;
+    }
+
+    /**
+     * @return the best fitness of the run when it was saved
+     */
+    public double getRunBestFitness() {
+        return runBestFitness;
+    }
+
+    /**
+     * @return the generations without improvement of the best fitness when
+     * it was saved
+     */
+    public int getStagnantGenerations() {
+        return stagnantGenerations;
+    }
+}
@@ -0,0 +1,83 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga;
+
+/**
+ * Storage of the chromosomes and fitness values of a whole population, in
+ * slots of the same chromosome length. StoredIndividual gives an Individual
+ * view of a slot, so operators work on the storage unchanged.
+ *
+ * @author pdsanchez
+ */
+public interface PopulationStorage {
+
+    /**
+     * @return the number of slots
+     */
+    public int size();
+
+    /**
+     * @return the chromosome length of every slot
+     */
+    public int getChromosomeLength();
+
+    /**
+     * @param slot
+     * @param idx
+     * @return the gene at index of the slot
+     */
+    public int getGene(int slot, int idx);
+
+    /**
+     * @param slot
+     * @param idx
+     * @param gene
+     */
+    public void setGene(int slot, int idx, int gene);
+
+    /**
+     * @param slot
+     * @return the fitness of the slot
+     */
+    public double getFitness(int slot);
+
+    /**
+     * @param slot
+     * @param fitness
+     */
+    public void setFitness(int slot, double fitness);
+
+    /**
+     * Copies the genes from index "from" (inclusive) to "to" (exclusive) of a
+     * slot of another storage, which may be this one.
+     *
+     * @param slot
+     * @param source
+     * @param sourceSlot
+     * @param from
+     * @param to
+     */
+    public void copyGenes(int slot, PopulationStorage source, int sourceSlot, int from, int to);
+}
@@ -0,0 +1,182 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Source of random numbers for the genetic algorithm and its operators.
+ *
+ * It implements the SplitMix64 generator (the one behind SplittableRandom).
+ * An instance is not thread-safe and is meant to be owned by a single thread:
+ * work handed to other threads gets its own generator through split(), so
+ * threads never contend on a shared seed. A run started from the same seed and
+ * configuration produces the same individuals.
+ *
+ * @author pdsanchez
+ */
+public class RandomSource {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private long seed;
+    private final long gamma;
+
+    /**
+     * Creates a generator with a random seed
+     */
+    public RandomSource() {
+        this(randomSeed());
+    }
+
+    /**
+     * Creates a generator that always produces the same sequence for a seed
+     *
+     * @param seed
+     */
+    public RandomSource(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    /**
+     * Restores a generator from its state (see getState and getGamma)
+     *
+     * @param seed
+     * @param gamma
+     */
+    RandomSource(long seed, long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * @return the current state of the generator
+     */
+    long getState() {
+        return this.seed;
+    }
+
+    /**
+     * @return the increment of the state of the generator
+     */
+    long getGamma() {
+        return this.gamma;
+    }
+
+    /**
+     * @return a seed for a new run
+     */
+    public static long randomSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Creates a new generator for another thread. The child sequence is
+     * determined by the state of this generator when it is split.
+     *
+     * @return an independent generator
+     */
+    public RandomSource split() {
+        return new RandomSource(this.nextLong(), mixGamma(this.nextSeed()));
+    }
+
+    /**
+     * @return a uniformly distributed long
+     */
+    public long nextLong() {
+        return mix64(this.nextSeed());
+    }
+
+    /**
+     * @param bound upper bound (exclusive), must be positive
+     * @return a uniformly distributed int between 0 and bound
+     * @throws IllegalArgumentException if bound is not positive
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        int r = (int) (this.nextLong() >>> 33);
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            // Power of two
+            return (int) ((bound * (long) r) >>> 31);
+        }
+        // Reject the values that would make the result biased
+        for (int u = r; u - (r = u % bound) + m < 0; u = (int) (this.nextLong() >>> 33)) {
+        }
+        return r;
+    }
+
+    /**
+     * @return a uniformly distributed double between 0 (inclusive) and 1
+     */
+    public double nextDouble() {
+        return (this.nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * @return a random boolean
+     */
+    public boolean nextBoolean() {
+        return this.nextLong() < 0;
+    }
+
+    /**
+     * Marsaglia polar method. The second value of each pair is discarded, so
+     * the generator state stays a single long.
+     *
+     * @return a normally distributed double with mean 0 and deviation 1
+     */
+    public double nextGaussian() {
+        double v1, v2, s;
+        do {
+            v1 = 2 * this.nextDouble() - 1;
+            v2 = 2 * this.nextDouble() - 1;
+            s = v1 * v1 + v2 * v2;
+        } while (s >= 1 || s == 0);
+        return v1 * Math.sqrt(-2 * Math.log(s) / s);
+    }
+
+    private long nextSeed() {
+        return this.seed += this.gamma;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        // Avoid gammas with too few bit transitions
+        int n = Long.bitCount(z ^ (z >>> 1));
+        return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+}
@@ -0,0 +1,157 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An individual whose genes are shorts, for problems with a medium size
+ * alphabet.
+ *
+ * The chromosome takes half the memory of an integer one. Genes are
+ * read and written as int through getGene and setGene, values outside the
+ * short range are truncated.
+ *
+ * @author pdsanchez
+ */
+public class ShortIndividual extends Individual {
+
+    private final short[] genes;
+
+    /**
+     * Initializes individual with specific chromosome
+     *
+     * @param genes The chromosome to give individual
+     */
+    public ShortIndividual(short[] genes) {
+        this.genes = genes;
+    }
+
+    /**
+     * Creates a chromosome with every gene set to 0
+     *
+     * @param chromosomeLength
+     */
+    public ShortIndividual(int chromosomeLength) {
+        this(new short[chromosomeLength]);
+    }
+
+    @Override
+    protected Individual newInstance() {
+        return new ShortIndividual(this.genes.length);
+    }
+
+    @Override
+    public void copyFrom(Individual source) {
+        if (source instanceof ShortIndividual) {
+            System.arraycopy(((ShortIndividual) source).genes, 0, this.genes, 0, this.genes.length);
+            this.setFitness(source.getFitness());
+            this.copyChanges(source);
+        } else {
+            super.copyFrom(source);
+        }
+    }
+
+    @Override
+    public void copyGenes(Individual source, int from, int to) {
+        if (source instanceof ShortIndividual) {
+            short[] sourceGenes = ((ShortIndividual) source).genes;
+            // The genes that change, until the change log is full
+            for (int gene = from; gene < to && this.isRecordingChanges(); gene++) {
+                this.recordChange(gene, this.genes[gene], sourceGenes[gene]);
+            }
+            System.arraycopy(sourceGenes, from, this.genes, from, to - from);
+        } else {
+            super.copyGenes(source, from, to);
+        }
+    }
+
+    @Override
+    public void swapGenes(int idx1, int idx2) {
+        short gene = this.genes[idx1];
+        this.setGene(idx1, this.genes[idx2]);
+        this.setGene(idx2, gene);
+    }
+
+    @Override
+    public int getGenesBytes() {
+        return this.genes.length * Short.BYTES;
+    }
+
+    @Override
+    public void writeGenes(ByteBuffer buffer) {
+        for (short gene : this.genes) {
+            buffer.putShort(gene);
+        }
+    }
+
+    @Override
+    public void readGenes(ByteBuffer buffer) {
+        for (int i = 0; i < this.genes.length; i++) {
+            this.genes[i] = buffer.getShort();
+        }
+        this.markAllChanged();
+    }
+
+    /**
+     * Widens the chromosome. The returned array is a copy, changes to it are
+     * not reflected in the individual.
+     *
+     * @return The individual's chromosome, one gene per integer
+     */
+    @Override
+    public int[] getChromosome() {
+        int[] chromosome = new int[this.genes.length];
+        for (int i = 0; i < this.genes.length; i++) {
+            chromosome[i] = this.genes[i];
+        }
+        return chromosome;
+    }
+
+    /**
+     * @return The individual's genes
+     */
+    public short[] getGenes() {
+        return this.genes;
+    }
+
+    @Override
+    public int getChromosomeLength() {
+        return this.genes.length;
+    }
+
+    @Override
+    public void setGene(int idx, int gene) {
+        if (this.isChangeTrackingEnabled()) {
+            this.recordChange(idx, this.genes[idx], (short) gene);
+        }
+        this.genes[idx] = (short) gene;
+    }
+
+    @Override
+    public int getGene(int idx) {
+        return this.genes[idx];
+    }
+}
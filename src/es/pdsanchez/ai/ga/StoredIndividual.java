@@ -0,0 +1,144 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga;
+
+/**
+ * Flyweight view of a slot of a PopulationStorage. It holds no genes nor
+ * fitness, every access goes to the storage.
+ *
+ * Copies between views of the same kind of storage are bulk copies inside the
+ * storage. createEmpty returns an ordinary Individual, as there is no free
+ * slot to give it; engine modes that keep the layout breed into views of a
+ * second storage instead.
+ *
+ * @author pdsanchez
+ */
+public class StoredIndividual extends Individual {
+
+    private final PopulationStorage storage;
+    private int slot;
+
+    /**
+     * @param storage
+     * @param slot index of the individual in the storage
+     */
+    public StoredIndividual(PopulationStorage storage, int slot) {
+        this.storage = storage;
+        this.slot = slot;
+    }
+
+    /**
+     * Turns the view into a view of another slot of the same storage
+     *
+     * @param slot
+     */
+    void moveTo(int slot) {
+        this.slot = slot;
+    }
+
+    @Override
+    protected Individual newInstance() {
+        return new Individual(this.storage.getChromosomeLength());
+    }
+
+    @Override
+    public void copyFrom(Individual source) {
+        if (source instanceof StoredIndividual) {
+            StoredIndividual stored = (StoredIndividual) source;
+            this.storage.copyGenes(this.slot, stored.storage, stored.slot, 0, this.getChromosomeLength());
+            this.setFitness(source.getFitness());
+            this.copyChanges(source);
+        } else {
+            super.copyFrom(source);
+        }
+    }
+
+    @Override
+    public void copyGenes(Individual source, int from, int to) {
+        if (source instanceof StoredIndividual && this.isChangeTrackingEnabled() == false) {
+            StoredIndividual stored = (StoredIndividual) source;
+            this.storage.copyGenes(this.slot, stored.storage, stored.slot, from, to);
+        } else {
+            super.copyGenes(source, from, to);
+        }
+    }
+
+    /**
+     * Copies the chromosome out of the storage. Changes to the returned array
+     * are not reflected in the individual.
+     *
+     * @return The individual's chromosome
+     */
+    @Override
+    public int[] getChromosome() {
+        int[] chromosome = new int[this.getChromosomeLength()];
+        for (int i = 0; i < chromosome.length; i++) {
+            chromosome[i] = this.storage.getGene(this.slot, i);
+        }
+        return chromosome;
+    }
+
+    @Override
+    public int getChromosomeLength() {
+        return this.storage.getChromosomeLength();
+    }
+
+    @Override
+    public void setGene(int idx, int gene) {
+        if (this.isChangeTrackingEnabled()) {
+            this.recordChange(idx, this.storage.getGene(this.slot, idx), gene);
+        }
+        this.storage.setGene(this.slot, idx, gene);
+    }
+
+    @Override
+    public int getGene(int idx) {
+        return this.storage.getGene(this.slot, idx);
+    }
+
+    @Override
+    public void setFitness(double fitness) {
+        this.storage.setFitness(this.slot, fitness);
+    }
+
+    @Override
+    public double getFitness() {
+        return this.storage.getFitness(this.slot);
+    }
+
+    /**
+     * @return the storage
+     */
+    public PopulationStorage getStorage() {
+        return storage;
+    }
+
+    /**
+     * @return the slot
+     */
+    public int getSlot() {
+        return slot;
+    }
+}
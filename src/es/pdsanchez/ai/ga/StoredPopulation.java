@@ -0,0 +1,170 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga;
+
+/**
+ * A population whose individuals are slots of a PopulationStorage.
+ *
+ * The population keeps no object per individual: getIndividual returns a new
+ * StoredIndividual view of the slot on each call and the fitness is read from
+ * the storage. Setting an individual copies it into the slot, so the
+ * population never holds an individual outside its storage. The engine does
+ * not create a view per individual: it moves a few views of its own from slot
+ * to slot, one per parent and offspring while breeding and a block of them
+ * per evaluation. Hooks must not keep the individuals they are given. As the
+ * views do not outlive their use, the stored individuals do not track their
+ * gene changes.
+ *
+ * @author pdsanchez
+ */
+public class StoredPopulation extends Population {
+
+    private final PopulationStorage storage;
+
+    /**
+     * @param storage storage of the individuals, one per slot
+     */
+    public StoredPopulation(PopulationStorage storage) {
+        this.storage = storage;
+    }
+
+    /**
+     * @return the number of slots
+     */
+    @Override
+    public int size() {
+        return this.storage.size();
+    }
+
+    /**
+     * Creates a view of every slot. The engine avoids it and gets the
+     * individuals one at a time.
+     *
+     * @return new views of the slots
+     */
+    @Override
+    public Individual[] getIndividuals() {
+        Individual[] individuals = new Individual[this.size()];
+        for (int slot = 0; slot < individuals.length; slot++) {
+            individuals[slot] = this.getIndividual(slot);
+        }
+        return individuals;
+    }
+
+    /**
+     * @param idx
+     * @return a new view of the slot at index
+     */
+    @Override
+    public Individual getIndividual(int idx) {
+        return new StoredIndividual(this.storage, idx);
+    }
+
+    /**
+     * @param idx
+     * @param reuse view got before from this population, or null
+     * @return reuse moved to the slot at index, or a new view
+     */
+    @Override
+    Individual getIndividual(int idx, Individual reuse) {
+        if (reuse instanceof StoredIndividual == false
+                || ((StoredIndividual) reuse).getStorage() != this.storage) {
+            return this.getIndividual(idx);
+        }
+        ((StoredIndividual) reuse).moveTo(idx);
+        return reuse;
+    }
+
+    /**
+     * Copies an individual into the slot at index
+     *
+     * @param idx
+     * @param individual
+     * @return a view of the slot
+     */
+    @Override
+    public Individual setIndividual(int idx, Individual individual) {
+        return this.setIndividual(idx, individual, null);
+    }
+
+    /**
+     * Copies an individual into the slot at index
+     *
+     * @param idx
+     * @param individual
+     * @param reuse view got before from this population, or null
+     * @return a view of the slot
+     */
+    @Override
+    Individual setIndividual(int idx, Individual individual, Individual reuse) {
+        // The individual may be the view to reuse
+        Individual view = this.getIndividual(idx, (reuse != individual) ? reuse : null);
+        if (individual instanceof StoredIndividual == false
+                || ((StoredIndividual) individual).getStorage() != this.storage
+                || ((StoredIndividual) individual).getSlot() != idx) {
+            view.copyFrom(individual);
+        }
+        this.invalidateStatistics();
+        return view;
+    }
+
+    /**
+     * @param idx
+     * @return the fitness of the slot at index
+     */
+    @Override
+    public double getFitness(int idx) {
+        return this.storage.getFitness(idx);
+    }
+
+    /**
+     * Shuffles the slots in-place, swapping their genes and fitness
+     *
+     * @param rng
+     */
+    @Override
+    public void shuffle(RandomSource rng) {
+        int chromosomeLength = this.storage.getChromosomeLength();
+        for (int i = this.size() - 1; i > 0; i--) {
+            int idx = rng.nextInt(i + 1);
+            for (int gene = 0; gene < chromosomeLength; gene++) {
+                int a = this.storage.getGene(idx, gene);
+                this.storage.setGene(idx, gene, this.storage.getGene(i, gene));
+                this.storage.setGene(i, gene, a);
+            }
+            double fitness = this.storage.getFitness(idx);
+            this.storage.setFitness(idx, this.storage.getFitness(i));
+            this.storage.setFitness(i, fitness);
+        }
+        this.invalidateStatistics();
+    }
+
+    /**
+     * @return the storage
+     */
+    public PopulationStorage getStorage() {
+        return storage;
+    }
+}
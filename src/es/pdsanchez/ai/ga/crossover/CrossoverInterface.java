@@ -25,11 +25,28 @@
 package es.pdsanchez.ai.ga.crossover;
 
 import es.pdsanchez.ai.ga.Individual;
+import es.pdsanchez.ai.ga.RandomSource;
 
 /**
  *
  * @author pdsanchez
  */
 public interface CrossoverInterface {
-    public Individual crossover(Individual parent1, Individual parent2);
+
+    /**
+     * Writes the offspring of both parents into an existing individual, so
+     * the chromosome buffer can be reused between generations.
+     *
+     * @param parent1
+     * @param parent2
+     * @param offspring individual whose chromosome is overwritten
+     * @param rng random source of the calling thread
+     */
+    public void crossover(Individual parent1, Individual parent2, Individual offspring, RandomSource rng);
+
+    public default Individual crossover(Individual parent1, Individual parent2, RandomSource rng) {
+        Individual offspring = parent1.createEmpty();
+        this.crossover(parent1, parent2, offspring, rng);
+        return offspring;
+    }
 }
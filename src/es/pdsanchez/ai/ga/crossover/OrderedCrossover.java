@@ -1,23 +1,22 @@
 package es.pdsanchez.ai.ga.crossover;
 
-import java.util.Arrays;
-
 import es.pdsanchez.ai.ga.Individual;
+import es.pdsanchez.ai.ga.RandomSource;
 
 public class OrderedCrossover implements CrossoverInterface {
 
 	@Override
-	public Individual crossover(Individual parent1, Individual parent2) {
+	public void crossover(Individual parent1, Individual parent2, Individual offspring, RandomSource rng) {
 		int chromosomeLength = parent1.getChromosomeLength();
         
         // Initialize offspring
-		int offspringChromosome[] = new int[chromosomeLength];
-		Arrays.fill(offspringChromosome, -1);
-		Individual offspring = new Individual(offspringChromosome);
+		for (int i = 0; i < chromosomeLength; i++) {
+			offspring.setGene(i, -1);
+		}
 
 		// Get subset of parent chromosomes
-		int substrPos1 = (int) (Math.random() * chromosomeLength);
-		int substrPos2 = (int) (Math.random() * chromosomeLength);
+		int substrPos1 = rng.nextInt(chromosomeLength);
+		int substrPos2 = rng.nextInt(chromosomeLength);
 
 		// make the smaller the start and the larger the end
 		final int startSubstr = Math.min(substrPos1, substrPos2);
@@ -46,7 +45,5 @@ public class OrderedCrossover implements CrossoverInterface {
 				}
 			}
 		}
-
-		return offspring;
 	}
 }
@@ -25,6 +25,7 @@
 package es.pdsanchez.ai.ga.crossover;
 
 import es.pdsanchez.ai.ga.Individual;
+import es.pdsanchez.ai.ga.RandomSource;
 
 /**
  * Crossover population using single point crossover
@@ -50,24 +51,14 @@ import es.pdsanchez.ai.ga.Individual;
 public class SinglePointCrossover implements CrossoverInterface {
 
     @Override
-    public Individual crossover(Individual parent1, Individual parent2) {
+    public void crossover(Individual parent1, Individual parent2, Individual offspring, RandomSource rng) {
         int chromosomeLength = parent1.getChromosomeLength();
-                
-        // Initialize offspring
-        Individual offspring = new Individual(chromosomeLength);
 
         // Get random swap point
-        int swapPoint = (int) (Math.random() * (chromosomeLength + 1));
+        int swapPoint = rng.nextInt(chromosomeLength + 1);
 
-        // Loop over genome
-        for (int geneIndex = 0; geneIndex < chromosomeLength; geneIndex++) {
-            // Use half of parent1's genes and half of parent2's genes
-            if (geneIndex < swapPoint) {
-                offspring.setGene(geneIndex, parent1.getGene(geneIndex));
-            } else {
-                offspring.setGene(geneIndex, parent2.getGene(geneIndex));
-            }
-        }
-        return offspring;
+        // Genes before the swap point from parent1, the rest from parent2
+        offspring.copyGenes(parent1, 0, swapPoint);
+        offspring.copyGenes(parent2, swapPoint, chromosomeLength);
     }
 }
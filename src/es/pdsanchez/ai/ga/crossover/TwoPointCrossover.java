@@ -25,6 +25,7 @@
 package es.pdsanchez.ai.ga.crossover;
 
 import es.pdsanchez.ai.ga.Individual;
+import es.pdsanchez.ai.ga.RandomSource;
 
 /**
  * Crossover population using single point crossover
@@ -50,28 +51,17 @@ import es.pdsanchez.ai.ga.Individual;
 public class TwoPointCrossover implements CrossoverInterface {
 
     @Override
-    public Individual crossover(Individual parent1, Individual parent2) {
+    public void crossover(Individual parent1, Individual parent2, Individual offspring, RandomSource rng) {
         int chromosomeLength = parent1.getChromosomeLength();
-                
-        // Initialize offspring
-        Individual offspring = new Individual(chromosomeLength);
 
         // Get random swap points
-        int swapPoint1 = (int) (Math.random() * (chromosomeLength + 1));
-        int swapPoint2 = (int) (Math.random() * (chromosomeLength + 1));
+        int swapPoint1 = rng.nextInt(chromosomeLength + 1);
+        int swapPoint2 = rng.nextInt(chromosomeLength + 1);
 
-        // Loop over genome
-        for (int geneIndex = 0; geneIndex < chromosomeLength; geneIndex++) {
-            if (geneIndex < swapPoint1) {
-                offspring.setGene(geneIndex, parent1.getGene(geneIndex));
-            } 
-            else if (geneIndex < swapPoint2) {
-                offspring.setGene(geneIndex, parent2.getGene(geneIndex));
-            }
-            else {
-                offspring.setGene(geneIndex, parent1.getGene(geneIndex));
-            }
-        }
-        return offspring;
+        // Genes between the swap points from parent2, the rest from parent1
+        int end = Math.max(swapPoint1, swapPoint2);
+        offspring.copyGenes(parent1, 0, swapPoint1);
+        offspring.copyGenes(parent2, swapPoint1, end);
+        offspring.copyGenes(parent1, end, chromosomeLength);
     }
 }
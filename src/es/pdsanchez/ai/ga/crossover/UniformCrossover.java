@@ -24,32 +24,45 @@
  */
 package es.pdsanchez.ai.ga.crossover;
 
+import es.pdsanchez.ai.ga.BinaryIndividual;
 import es.pdsanchez.ai.ga.Individual;
+import es.pdsanchez.ai.ga.RandomSource;
 
 /**
+ * Takes each gene from one of the parents at random.
+ * 
+ * Binary chromosomes are crossed a word at a time with a random mask, the
+ * others through Individual.blendGenes, which uses one random long per 64
+ * genes and the GeneKernels blend for int chromosomes, tracked or not.
  *
  * @author pdsanchez
  */
 public class UniformCrossover implements CrossoverInterface {
 
     @Override
-    public Individual crossover(Individual parent1, Individual parent2) {
-        int chromosomeLength = parent1.getChromosomeLength();
-                
-        // Initialize offspring
-        Individual offspring = new Individual(chromosomeLength);
-
-        // Loop over genome
-        for (int geneIndex = 0; geneIndex < chromosomeLength; geneIndex++) {
-            // Use half of parent1's genes and half of parent2's genes
-            if (0.5 > Math.random()) {
-                offspring.setGene(geneIndex, parent1.getGene(geneIndex));
-            } else {
-                offspring.setGene(geneIndex, parent2.getGene(geneIndex));
-            }
+    public void crossover(Individual parent1, Individual parent2, Individual offspring, RandomSource rng) {
+        if (parent1 instanceof BinaryIndividual && parent2 instanceof BinaryIndividual
+                && offspring instanceof BinaryIndividual) {
+            this.crossover((BinaryIndividual) parent1, (BinaryIndividual) parent2,
+                    (BinaryIndividual) offspring, rng);
+            return;
         }
 
-        return offspring;
+        // Use half of parent1's genes and half of parent2's genes
+        offspring.blendGenes(parent1, parent2, rng);
+    }
+
+    private void crossover(BinaryIndividual parent1, BinaryIndividual parent2,
+            BinaryIndividual offspring, RandomSource rng) {
+        long[] words1 = parent1.getWords();
+        long[] words2 = parent2.getWords();
+        int wordCount = words1.length;
+
+        // Each mask bit picks the gene from parent1 (1) or parent2 (0)
+        for (int i = 0; i < wordCount; i++) {
+            long mask = rng.nextLong();
+            offspring.setWord(i, (words1[i] & mask) | (words2[i] & ~mask));
+        }
     }
     
 }
@@ -0,0 +1,102 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga.evaluation;
+
+import es.pdsanchez.ai.ga.GeneticAlgorithm;
+import es.pdsanchez.ai.ga.Population;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Evaluates the population concurrently on the fork-join pool configured in
+ * the genetic algorithm.
+ *
+ * The population is split in ranges that are evaluated in parallel. Each
+ * fitness value is stored in its individual and the population fitness is
+ * summed afterwards in population order, so the result does not depend on how
+ * the work was scheduled.
+ *
+ * The problem's calcFitness must be safe to call from several threads at once.
+ * A fitness cache, if set, is shared by all of them.
+ *
+ * @author pdsanchez
+ */
+public class ParallelEvaluation implements EvaluationInterface {
+
+    // Ranges per worker thread, to balance uneven evaluation times
+    private static final int SPLITS_PER_THREAD = 4;
+
+    @Override
+    public double evalPopulation(GeneticAlgorithm ga, Population population) {
+        int size = population.size();
+
+        ForkJoinPool pool = ga.getEvaluationPool();
+        int threshold = Math.max(1, size / (pool.getParallelism() * SPLITS_PER_THREAD));
+        pool.invoke(new EvaluationTask(ga, population, 0, size, threshold));
+
+        // Deterministic reduction, gathering the statistics too
+        double populationFitness = 0;
+        for (int i = 0; i < size; i++) {
+            double fitness = population.getFitness(i);
+            populationFitness += fitness;
+            population.addFitness(i, fitness);
+        }
+
+        return populationFitness;
+    }
+
+    private static class EvaluationTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final GeneticAlgorithm ga;
+        private final Population population;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        EvaluationTask(GeneticAlgorithm ga, Population population,
+                int from, int to, int threshold) {
+            this.ga = ga;
+            this.population = population;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                ga.evalFitness(population, from, to);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new EvaluationTask(ga, population, from, middle, threshold),
+                    new EvaluationTask(ga, population, middle, to, threshold));
+        }
+    }
+
+}
@@ -24,7 +24,9 @@
  */
 package es.pdsanchez.ai.ga.mutation;
 
+import es.pdsanchez.ai.ga.BinaryIndividual;
 import es.pdsanchez.ai.ga.Individual;
+import es.pdsanchez.ai.ga.RandomSource;
 
 /**
  *
@@ -33,7 +35,11 @@ import es.pdsanchez.ai.ga.Individual;
 public class BitFlipMutation implements MutationInterface {
 
     @Override
-    public void mutateGene(Individual individual, int geneIndex) {
+    public void mutateGene(Individual individual, int geneIndex, RandomSource rng) {
+        if (individual instanceof BinaryIndividual) {
+            ((BinaryIndividual) individual).flipGene(geneIndex); // xor mask
+            return;
+        }
         byte newGene = (byte) ((individual.getGene(geneIndex) == 1) ? 0 : 1); // change value
         individual.setGene(geneIndex, newGene); // mutate gene
     }
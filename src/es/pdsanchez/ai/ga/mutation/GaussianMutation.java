@@ -0,0 +1,71 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga.mutation;
+
+import es.pdsanchez.ai.ga.DoubleIndividual;
+import es.pdsanchez.ai.ga.Individual;
+import es.pdsanchez.ai.ga.RandomSource;
+
+/**
+ * Adds normally distributed noise to a gene, for real-valued chromosomes.
+ * Genes of integer individuals get the noise rounded.
+ *
+ * @author pdsanchez
+ */
+public class GaussianMutation implements MutationInterface {
+
+    public static final double DEFAULT_STANDARD_DEVIATION = 0.1;
+
+    private final double standardDeviation;
+
+    public GaussianMutation() {
+        this(DEFAULT_STANDARD_DEVIATION);
+    }
+
+    /**
+     * @param standardDeviation deviation of the noise added to a gene
+     */
+    public GaussianMutation(double standardDeviation) {
+        this.standardDeviation = standardDeviation;
+    }
+
+    @Override
+    public void mutateGene(Individual individual, int geneIndex, RandomSource rng) {
+        double noise = this.standardDeviation * rng.nextGaussian();
+        if (individual instanceof DoubleIndividual) {
+            DoubleIndividual real = (DoubleIndividual) individual;
+            real.setDoubleGene(geneIndex, real.getDoubleGene(geneIndex) + noise);
+            return;
+        }
+        individual.setGene(geneIndex, individual.getGene(geneIndex) + (int) Math.round(noise));
+    }
+
+    /**
+     * @return the standardDeviation
+     */
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+}
@@ -25,11 +25,12 @@
 package es.pdsanchez.ai.ga.mutation;
 
 import es.pdsanchez.ai.ga.Individual;
+import es.pdsanchez.ai.ga.RandomSource;
 
 /**
  *
  * @author pdsanchez
  */
 public interface MutationInterface {
-    public void mutateGene(Individual individual, int geneIndex);
+    public void mutateGene(Individual individual, int geneIndex, RandomSource rng);
 }
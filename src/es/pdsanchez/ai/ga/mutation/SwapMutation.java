@@ -26,6 +26,7 @@
 package es.pdsanchez.ai.ga.mutation;
 
 import es.pdsanchez.ai.ga.Individual;
+import es.pdsanchez.ai.ga.RandomSource;
 
 /**
  * This form of mutation will randomly swap two genes
@@ -35,15 +36,11 @@ import es.pdsanchez.ai.ga.Individual;
 public class SwapMutation implements MutationInterface {
 
     @Override
-    public void mutateGene(Individual individual, int geneIndex) {
+    public void mutateGene(Individual individual, int geneIndex, RandomSource rng) {
         // Get new gene position
-        int newGenePos = (int) (Math.random() * individual.getChromosomeLength());
-        // Get genes to swap
-        int gene1 = individual.getGene(newGenePos);
-        int gene2 = individual.getGene(geneIndex);
+        int newGenePos = rng.nextInt(individual.getChromosomeLength());
         // Swap genes
-        individual.setGene(geneIndex, gene1);
-        individual.setGene(newGenePos, gene2);
+        individual.swapGenes(geneIndex, newGenePos);
     }
 
 }
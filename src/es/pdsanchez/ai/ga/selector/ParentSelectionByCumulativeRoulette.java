@@ -0,0 +1,62 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package es.pdsanchez.ai.ga.selector;
+
+import es.pdsanchez.ai.ga.Population;
+import es.pdsanchez.ai.ga.RandomSource;
+
+/**
+ * Roulette wheel selection by binary search over the cumulative fitness of
+ * the population, which is built once per generation. Each spin is O(log n)
+ * instead of the linear walk of ParentSelectionByRoulette.
+ *
+ * @author pdsanchez
+ */
+public class ParentSelectionByCumulativeRoulette implements ParentSelectionInterface {
+
+    @Override
+    public int selectParentIndex(Population population, RandomSource rng) {
+        double[] cumulativeFitness = population.getCumulativeFitness();
+        int last = cumulativeFitness.length - 1;
+
+        // Spin roulette wheel
+        double rouletteWheelPosition = rng.nextDouble() * cumulativeFitness[last];
+
+        // Find the first individual whose running sum reaches the position
+        int low = 0;
+        int high = last;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulativeFitness[middle] >= rouletteWheelPosition) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        return low;
+    }
+
+}
@@ -24,8 +24,8 @@
  */
 package es.pdsanchez.ai.ga.selector;
 
-import es.pdsanchez.ai.ga.Individual;
 import es.pdsanchez.ai.ga.Population;
+import es.pdsanchez.ai.ga.RandomSource;
 
 /**
  *
@@ -34,23 +34,20 @@ import es.pdsanchez.ai.ga.Population;
 public class ParentSelectionByRoulette implements ParentSelectionInterface {
 
     @Override
-    public Individual selectParent(Population population) {
-        // Get individuals
-        Individual individuals[] = population.getIndividuals();
-
+    public int selectParentIndex(Population population, RandomSource rng) {
         // Spin roulette wheel
         double populationFitness = population.getPopulationFitness();
-        double rouletteWheelPosition = Math.random() * populationFitness;
+        double rouletteWheelPosition = rng.nextDouble() * populationFitness;
 
         // Find parent
         double spinWheel = 0;
-        for (Individual individual : individuals) {
-            spinWheel += individual.getFitness();
+        for (int i = 0; i < population.size(); i++) {
+            spinWheel += population.getFitness(i);
             if (spinWheel >= rouletteWheelPosition) {
-                return individual;
+                return i;
             }
         }
-        return individuals[population.size() - 1];
+        return population.size() - 1;
     }
     
 }
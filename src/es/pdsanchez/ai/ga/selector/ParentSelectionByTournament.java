@@ -24,10 +24,13 @@
  */
 package es.pdsanchez.ai.ga.selector;
 
-import es.pdsanchez.ai.ga.Individual;
 import es.pdsanchez.ai.ga.Population;
+import es.pdsanchez.ai.ga.RandomSource;
 
 /**
+ * Picks tournamentSize individuals at random (with replacement) and returns
+ * the fittest of them. Costs O(tournamentSize), does not allocate and leaves
+ * the population order untouched.
  *
  * @author pdsanchez
  */
@@ -40,19 +43,20 @@ public class ParentSelectionByTournament implements ParentSelectionInterface {
     }
     
     @Override
-    public Individual selectParent(Population population) {
-        // Create tournament
-        Population tournament = new Population(tournamentSize);
+    public int selectParentIndex(Population population, RandomSource rng) {
+        int populationSize = population.size();
 
-        // Add random individuals to the tournament
-        population.shuffle();
-        for (int i = 0; i < tournamentSize; i++) {
-            Individual tournamentIndividual = population.getIndividual(i);
-            tournament.setIndividual(i, tournamentIndividual);
+        // Keep the best of the random individuals
+        int best = rng.nextInt(populationSize);
+        for (int i = 1; i < tournamentSize; i++) {
+            int tournamentIndex = rng.nextInt(populationSize);
+            if (population.getFitness(tournamentIndex) > population.getFitness(best)) {
+                best = tournamentIndex;
+            }
         }
 
         // Return the best
-        return tournament.getFittest(0);
+        return best;
     }
     
 }
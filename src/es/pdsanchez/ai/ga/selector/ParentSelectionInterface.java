@@ -26,11 +26,25 @@ package es.pdsanchez.ai.ga.selector;
 
 import es.pdsanchez.ai.ga.Individual;
 import es.pdsanchez.ai.ga.Population;
+import es.pdsanchez.ai.ga.RandomSource;
 
 /**
  *
  * @author pdsanchez
  */
 public interface ParentSelectionInterface {
-    public Individual selectParent(Population population);
+
+    /**
+     * Selects a parent without getting the individual, so callers can reuse
+     * their views of stored populations.
+     *
+     * @param population
+     * @param rng random source of the calling thread
+     * @return the index of the parent in the population
+     */
+    public int selectParentIndex(Population population, RandomSource rng);
+
+    public default Individual selectParent(Population population, RandomSource rng) {
+        return population.getIndividual(this.selectParentIndex(population, rng));
+    }
 }
@@ -21,11 +21,60 @@ import java.util.ArrayList;
  *
  */
 public class Maze {
+	/**
+	 * Cells around a robot read by each sensor, for each heading (North, East,
+	 * South, West): front, front-left, front-right, left, right and back
+	 */
+	private static final int SENSOR_OFFSETS[][][] = {
+		{ { 0, -1 }, { -1, -1 }, { 1, -1 }, { -1, 0 }, { 1, 0 }, { 0, 1 } },
+		{ { 1, 0 }, { 1, -1 }, { 1, 1 }, { 0, -1 }, { 0, 1 }, { -1, 0 } },
+		{ { 0, 1 }, { 1, 1 }, { -1, 1 }, { 1, 0 }, { -1, 0 }, { 0, -1 } },
+		{ { -1, 0 }, { -1, 1 }, { -1, -1 }, { 0, 1 }, { 0, -1 }, { 1, 0 } }
+	};
+
 	private final int maze[][];
 	private int startPosition[] = { -1, -1 };
+	private final int width;
+	private final int cellValues[];
+	private final int sensorValues[];
+	private final int forwardCells[];
 
 	public Maze(int maze[][]) {
 		this.maze = maze;
+		this.width = maze[0].length;
+		this.cellValues = new int[maze.length * this.width];
+		for (int y = 0; y < maze.length; y++) {
+			System.arraycopy(maze[y], 0, this.cellValues, y * this.width, this.width);
+		}
+		this.sensorValues = this.calcSensorValues();
+		this.forwardCells = this.calcForwardCells();
+	}
+
+	/**
+	 * The maze never changes, so the sensor value of every position and
+	 * heading is computed once, as the robot would from its six sensors.
+	 * 
+	 * @return int[] Sensor values indexed by (y * width + x) * 4 + heading
+	 */
+	private int[] calcSensorValues() {
+		int sensorValues[] = new int[this.maze.length * this.width * 4];
+
+		for (int y = 0; y < this.maze.length; y++) {
+			for (int x = 0; x < this.width; x++) {
+				for (int heading = 0; heading < 4; heading++) {
+					int sensorValue = 0;
+					for (int sensor = 0; sensor < 6; sensor++) {
+						int offset[] = SENSOR_OFFSETS[heading][sensor];
+						if (this.isWall(x + offset[0], y + offset[1])) {
+							sensorValue |= 1 << sensor;
+						}
+					}
+					sensorValues[((y * this.width + x) << 2) | heading] = sensorValue;
+				}
+			}
+		}
+
+		return sensorValues;
 	}
 
 	/**
@@ -67,7 +116,7 @@ public class Maze {
 	 * @return int Position value
 	 */
 	public int getPositionValue(int x, int y) {
-		if (x < 0 || y < 0 || x >= this.maze.length || y >= this.maze[0].length) {
+		if (x < 0 || y < 0 || x >= this.width || y >= this.maze.length) {
 			return 1;
 		}
 		return this.maze[y][x];
@@ -86,6 +135,110 @@ public class Maze {
 		return (this.getPositionValue(x, y) == 1);
 	}
 
+	/**
+	 * Cell reached by a robot moving forward from each cell and heading. As in
+	 * Robot.makeNextAction, the robot stays at the edges and in front of walls.
+	 * 
+	 * @return int[] Cells indexed by cell * 4 + heading
+	 */
+	private int[] calcForwardCells() {
+		int forwardCells[] = new int[this.maze.length * this.width * 4];
+
+		for (int y = 0; y < this.maze.length; y++) {
+			for (int x = 0; x < this.width; x++) {
+				for (int heading = 0; heading < 4; heading++) {
+					// Front sensor offset is the move
+					int offset[] = SENSOR_OFFSETS[heading][0];
+					int nextX = Math.max(0, Math.min(this.getMaxX(), x + offset[0]));
+					int nextY = Math.max(0, Math.min(this.getMaxY(), y + offset[1]));
+					if (this.isWall(nextX, nextY)) {
+						nextX = x;
+						nextY = y;
+					}
+					forwardCells[(this.getCell(x, y) << 2) | heading] = this.getCell(nextX, nextY);
+				}
+			}
+		}
+
+		return forwardCells;
+	}
+
+	/**
+	 * Gets the cell index of a position, y * width + x
+	 * 
+	 * @param x
+	 *            position
+	 * @param y
+	 *            position
+	 * @return int Cell index
+	 */
+	public int getCell(int x, int y) {
+		return y * this.width + x;
+	}
+
+	/**
+	 * Gets the number of cells of the maze
+	 * 
+	 * @return int Cell count
+	 */
+	public int getCellCount() {
+		return this.maze.length * this.width;
+	}
+
+	/**
+	 * Gets value for a cell of the maze
+	 * 
+	 * @param cell
+	 *            index
+	 * @return int Cell value
+	 */
+	public int getCellValue(int cell) {
+		return this.cellValues[cell];
+	}
+
+	/**
+	 * Gets the cell a robot reaches moving forward
+	 * 
+	 * @param cell
+	 *            index
+	 * @param heading
+	 *            0 = North, 1 = East, 2 = South, 3 = West
+	 * @return int Cell index, the same cell if the robot can not move
+	 */
+	public int getForwardCell(int cell, int heading) {
+		return this.forwardCells[(cell << 2) | heading];
+	}
+
+	/**
+	 * Gets the sensor value of a robot at a cell
+	 * 
+	 * @param cell
+	 *            index
+	 * @param heading
+	 *            0 = North, 1 = East, 2 = South, 3 = West
+	 * @return int Sensor value
+	 */
+	public int getSensorValue(int cell, int heading) {
+		return this.sensorValues[(cell << 2) | heading];
+	}
+
+	/**
+	 * Gets the sensor value of a robot, a 6-bit mask with a bit set for each
+	 * sensor facing a wall (front, front-left, front-right, left, right and
+	 * back, from the lowest bit)
+	 * 
+	 * @param x
+	 *            position
+	 * @param y
+	 *            position
+	 * @param heading
+	 *            0 = North, 1 = East, 2 = South, 3 = West
+	 * @return int Sensor value
+	 */
+	public int getSensorValue(int x, int y, int heading) {
+		return this.sensorValues[(this.getCell(x, y) << 2) | heading];
+	}
+
 	/**
 	 * Gets maximum index of x position
 	 * 
@@ -1,10 +1,17 @@
 package main.robot;
+import es.pdsanchez.ai.ga.Individual;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * A robot abstraction. Give it a maze and an instruction set, and it will
  * attempt to navigate to the finish.
  * 
+ * The robot scores its route while it moves: a point for each route cell (3)
+ * the first time it is visited, as Maze.scoreRoute does. A robot created with
+ * the reusable constructor keeps no route and allocates nothing on reset and
+ * run, so one robot per thread can evaluate any number of controllers.
+ * 
  * @author bkanber
  *
  */
@@ -17,9 +24,12 @@ public class Robot {
     int maxMoves;
     int moves;
     private int sensorVal;
-    private final int sensorActions[];
+    private int sensorActions[];
     private Maze maze;
     private ArrayList<int[]> route;
+    private int score;
+    private int visited[];
+    private int visitStamp;
     
     /**
      * Initalize a robot with controller
@@ -40,6 +50,80 @@ public class Robot {
         this.moves = 0;
         this.route = new ArrayList<int[]>();
         this.route.add(startPos);
+        this.score = 0;
+        this.visited = new int[(maze.getMaxX() + 1) * (maze.getMaxY() + 1)];
+        this.visitStamp = 1;
+        this.visit();
+    }
+
+    /**
+     * Initalize a reusable robot, which does not record its route. Call reset
+     * before each run.
+     * 
+     * @param maxMoves The maximum number of moves the robot can make
+     */
+    public Robot(int maxMoves){
+        this.sensorActions = new int[0];
+        this.maxMoves = maxMoves;
+        this.visited = new int[0];
+        this.visitStamp = 0;
+    }
+
+    /**
+     * Puts the robot at the start of a maze with a new controller
+     * 
+     * @param controller Binary GA individual with the sensor actions
+     * @param maze The maze the robot will use
+     */
+    public void reset(Individual controller, Maze maze){
+        int numActions = controller.getChromosomeLength() / 2;
+        if (this.sensorActions.length != numActions) {
+            this.sensorActions = new int[numActions];
+        }
+        for (int sensorValue = 0; sensorValue < numActions; sensorValue++){
+            int sensorAction = 0;
+            if (controller.getGene(sensorValue * 2) == 1) {
+                sensorAction += 2;
+            }
+            if (controller.getGene(sensorValue * 2 + 1) == 1) {
+                sensorAction += 1;
+            }
+            this.sensorActions[sensorValue] = sensorAction;
+        }
+
+        this.maze = maze;
+        int startPos[] = maze.getStartPosition();
+        this.xPosition = startPos[0];
+        this.yPosition = startPos[1];
+        this.sensorVal = -1;
+        this.heading = Direction.EAST;
+        this.moves = 0;
+        this.score = 0;
+
+        // A new stamp forgets the cells visited in the previous run
+        int cells = (maze.getMaxX() + 1) * (maze.getMaxY() + 1);
+        if (this.visited.length < cells) {
+            this.visited = new int[cells];
+            this.visitStamp = 0;
+        }
+        if (++this.visitStamp == Integer.MAX_VALUE) {
+            Arrays.fill(this.visited, 0);
+            this.visitStamp = 1;
+        }
+        this.visit();
+    }
+
+    /**
+     * Scores the current position if it is a route cell not visited yet
+     */
+    private void visit(){
+        if (this.maze.getPositionValue(this.xPosition, this.yPosition) == 3) {
+            int cell = this.yPosition * (this.maze.getMaxX() + 1) + this.xPosition;
+            if (this.visited[cell] != this.visitStamp) {
+                this.visited[cell] = this.visitStamp;
+                this.score++;
+            }
+        }
     }
     
     /**
@@ -140,7 +224,10 @@ public class Robot {
             } 
             else {
                 if(currentX != this.xPosition || currentY != this.yPosition) {
-                    this.route.add(this.getPosition());
+                    this.visit();
+                    if (this.route != null) {
+                        this.route.add(this.getPosition());
+                    }
                 }
             }
         }
@@ -199,64 +286,8 @@ public class Robot {
             return this.sensorVal;
         }
                 
-		boolean frontSensor, frontLeftSensor, frontRightSensor, leftSensor, rightSensor, backSensor;
-		frontSensor = frontLeftSensor = frontRightSensor = leftSensor = rightSensor = backSensor = false;
-
-        // Find which sensors have been activated
-        if (this.getHeading() == Direction.NORTH) {
-            frontSensor = this.maze.isWall(this.xPosition, this.yPosition-1);
-            frontLeftSensor = this.maze.isWall(this.xPosition-1, this.yPosition-1);
-            frontRightSensor = this.maze.isWall(this.xPosition+1, this.yPosition-1);
-            leftSensor = this.maze.isWall(this.xPosition-1, this.yPosition);
-            rightSensor = this.maze.isWall(this.xPosition+1, this.yPosition);
-            backSensor = this.maze.isWall(this.xPosition, this.yPosition+1);
-        }
-        else if (this.getHeading() == Direction.EAST) {
-            frontSensor = this.maze.isWall(this.xPosition+1, this.yPosition);
-            frontLeftSensor = this.maze.isWall(this.xPosition+1, this.yPosition-1);
-            frontRightSensor = this.maze.isWall(this.xPosition+1, this.yPosition+1);
-            leftSensor = this.maze.isWall(this.xPosition, this.yPosition-1);
-            rightSensor = this.maze.isWall(this.xPosition, this.yPosition+1);
-            backSensor = this.maze.isWall(this.xPosition-1, this.yPosition);
-        }
-        else if (this.getHeading() == Direction.SOUTH) {
-            frontSensor = this.maze.isWall(this.xPosition, this.yPosition+1);
-            frontLeftSensor = this.maze.isWall(this.xPosition+1, this.yPosition+1);
-            frontRightSensor = this.maze.isWall(this.xPosition-1, this.yPosition+1);
-            leftSensor = this.maze.isWall(this.xPosition+1, this.yPosition);
-            rightSensor = this.maze.isWall(this.xPosition-1, this.yPosition);
-            backSensor = this.maze.isWall(this.xPosition, this.yPosition-1);
-        }
-        else {
-            frontSensor = this.maze.isWall(this.xPosition-1, this.yPosition);
-            frontLeftSensor = this.maze.isWall(this.xPosition-1, this.yPosition+1);
-            frontRightSensor = this.maze.isWall(this.xPosition-1, this.yPosition-1);
-            leftSensor = this.maze.isWall(this.xPosition, this.yPosition+1);
-            rightSensor = this.maze.isWall(this.xPosition, this.yPosition-1);
-            backSensor = this.maze.isWall(this.xPosition+1, this.yPosition);
-        }
-                
-        // Calculate sensor value
-        int sensorVal = 0;
-        
-        if (frontSensor == true) {
-            sensorVal += 1;
-        }
-        if (frontLeftSensor == true) {
-            sensorVal += 2;
-        }
-        if (frontRightSensor == true) {
-            sensorVal += 4;
-        }
-        if (leftSensor == true) {
-            sensorVal += 8;
-        }
-        if (rightSensor == true) {
-            sensorVal += 16;
-        }
-        if (backSensor == true) {
-            sensorVal += 32;
-        }
+        // Walls around each position are precomputed by the maze
+        int sensorVal = this.maze.getSensorValue(this.xPosition, this.yPosition, this.getHeading().ordinal());
 
         this.sensorVal = sensorVal;
 
@@ -281,10 +312,19 @@ public class Robot {
         return this.heading;
     }
     
+    /**
+     * Returns the score of the route, the route cells visited so far
+     * 
+     * @return int Robot's score
+     */
+    public int getScore(){
+        return this.score;
+    }
+
     /**
      * Returns robot's complete route around the maze
      * 
-     * @return ArrayList<int> Robot's route
+     * @return ArrayList<int> Robot's route, null for a reusable robot
      */
     public ArrayList<int[]> getRoute(){       
         return this.route;
@@ -0,0 +1,184 @@
+/* Copyright (c) 2016, Pablo D. Sánchez
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * - Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * 
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package main.robot;
+
+import es.pdsanchez.ai.ga.Individual;
+import java.util.Arrays;
+
+/**
+ * Simulates many robots in the same maze in lockstep.
+ *
+ * The state of the robots is kept in primitive arrays (structure of arrays):
+ * cell, heading and score of each robot, and the sensor actions of all of
+ * them in one table. Every move advances all the robots still running, which
+ * are kept packed at the front of a list, so the inner loop is a few array
+ * reads per robot over the precomputed sensor and move tables of the Maze.
+ *
+ * Each robot behaves as a Robot with the same controller and maze, and gets
+ * the same score as Maze.scoreRoute gives to its route. A batch is reused
+ * between runs and allocates nothing once its arrays are big enough.
+ *
+ * @author pdsanchez
+ */
+public class RobotBatch {
+
+    /**
+     * Sensor actions of each robot, one per sensor value
+     */
+    private static final int SENSOR_VALUES = 64;
+
+    private static final int EAST = 1;
+
+    /**
+     * Heading change of each action: none, forward, clockwise, anti-clockwise
+     */
+    private static final int[] TURNS = {0, 0, 1, 3};
+
+    private final int maxMoves;
+
+    private int[] sensorActions = new int[0];
+    private int[] cells = new int[0];
+    private int[] headings = new int[0];
+    private int[] scores = new int[0];
+    private int[] running = new int[0];
+    private int[] visited = new int[0];
+    private int visitStamp = 0;
+
+    /**
+     * @param maxMoves The maximum number of moves of each robot
+     */
+    public RobotBatch(int maxMoves) {
+        this.maxMoves = maxMoves;
+    }
+
+    /**
+     * Runs a robot for each controller from index "from" (inclusive) to "to"
+     * (exclusive). The score of controllers[from + i] is then getScore(i).
+     *
+     * @param controllers Binary GA individuals with the sensor actions
+     * @param from
+     * @param to
+     * @param maze The maze the robots will use
+     */
+    public void run(Individual[] controllers, int from, int to, Maze maze) {
+        int count = to - from;
+        this.ensureCapacity(count, maze.getCellCount());
+
+        int startPos[] = maze.getStartPosition();
+        int start = maze.getCell(startPos[0], startPos[1]);
+        for (int robot = 0; robot < count; robot++) {
+            this.decode(controllers[from + robot], robot);
+            this.cells[robot] = start;
+            this.headings[robot] = EAST;
+            this.scores[robot] = 0;
+            this.running[robot] = robot;
+            this.visit(maze, robot, start);
+        }
+
+        // Every robot makes its n-th move before any makes the next one
+        int runningCount = count;
+        for (int move = 1; move <= this.maxMoves && runningCount > 0; move++) {
+            int next = 0;
+            for (int i = 0; i < runningCount; i++) {
+                int robot = this.running[i];
+                int cell = this.cells[robot];
+                int heading = this.headings[robot];
+                int action = this.sensorActions[robot * SENSOR_VALUES + maze.getSensorValue(cell, heading)];
+
+                // The robot stops moving or has reached the goal
+                if (action == 0 || maze.getCellValue(cell) == 4) {
+                    continue;
+                }
+
+                if (action == 1) {
+                    int forward = maze.getForwardCell(cell, heading);
+                    if (forward != cell) {
+                        this.cells[robot] = forward;
+                        this.visit(maze, robot, forward);
+                    }
+                } else {
+                    this.headings[robot] = (heading + TURNS[action]) & 3;
+                }
+                this.running[next++] = robot;
+            }
+            runningCount = next;
+        }
+    }
+
+    /**
+     * @param robot index of the robot in the last run
+     * @return the score of its route
+     */
+    public int getScore(int robot) {
+        return this.scores[robot];
+    }
+
+    private void decode(Individual controller, int robot) {
+        int numActions = controller.getChromosomeLength() / 2;
+        if (numActions < SENSOR_VALUES) {
+            throw new IllegalArgumentException("A robot controller needs " + (SENSOR_VALUES * 2) + " genes");
+        }
+
+        int offset = robot * SENSOR_VALUES;
+        for (int sensorValue = 0; sensorValue < SENSOR_VALUES; sensorValue++) {
+            int sensorAction = 0;
+            if (controller.getGene(sensorValue * 2) == 1) {
+                sensorAction += 2;
+            }
+            if (controller.getGene(sensorValue * 2 + 1) == 1) {
+                sensorAction += 1;
+            }
+            this.sensorActions[offset + sensorValue] = sensorAction;
+        }
+    }
+
+    private void visit(Maze maze, int robot, int cell) {
+        int idx = robot * maze.getCellCount() + cell;
+        if (maze.getCellValue(cell) == 3 && this.visited[idx] != this.visitStamp) {
+            this.visited[idx] = this.visitStamp;
+            this.scores[robot]++;
+        }
+    }
+
+    private void ensureCapacity(int count, int cellCount) {
+        if (this.cells.length < count) {
+            this.sensorActions = new int[count * SENSOR_VALUES];
+            this.cells = new int[count];
+            this.headings = new int[count];
+            this.scores = new int[count];
+            this.running = new int[count];
+        }
+
+        // A new stamp forgets the cells visited in the previous run
+        if (this.visited.length < count * cellCount) {
+            this.visited = new int[count * cellCount];
+            this.visitStamp = 0;
+        }
+        if (++this.visitStamp == Integer.MAX_VALUE) {
+            Arrays.fill(this.visited, 0);
+            this.visitStamp = 1;
+        }
+    }
+}
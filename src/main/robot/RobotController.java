@@ -5,14 +5,16 @@
  */
 package main.robot;
 
+import es.pdsanchez.ai.ga.BatchFitness;
 import es.pdsanchez.ai.ga.GeneticAlgorithm;
 import es.pdsanchez.ai.ga.Individual;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  *
  * @author pdsanchez
  */
-public class RobotController extends GeneticAlgorithm {
+public class RobotController extends GeneticAlgorithm implements BatchFitness {
 
     /**
      * Initialize a maze. We'll write this by hand, because, y'know, this book
@@ -97,29 +99,45 @@ public class RobotController extends GeneticAlgorithm {
     
     Maze[] mazes = {maze1, maze2, maze3, maze4, maze5};
 
+    /**
+     * Controllers simulated together by the population evaluation
+     */
+    private static final int BATCH_SIZE = 256;
+
+    /**
+     * Reusable robot of each evaluation thread, so evaluations allocate nothing
+     */
+    private final ThreadLocal<Robot> robots = ThreadLocal.withInitial(() -> new Robot(100));
+
+    /**
+     * Reusable batch simulator of each evaluation thread
+     */
+    private final ThreadLocal<RobotBatch> batches = ThreadLocal.withInitial(() -> new RobotBatch(100));
+
+    private boolean multiMaze = false;
+
     public RobotController(int chromosomeLength) {
         super(chromosomeLength);
     }
 
     @Override
     public void populateChromosome(Individual individual) {
-        individual.randomizeBinaryChromosome();
+        individual.randomizeBinaryChromosome(this.getRandom());
     }
 
     @Override
     public double calcFitness(Individual individual) {
-        // Get individual's chromosome
-        int[] chromosome = individual.getChromosome();
-        
-        //Math.random()
-        //Random r = new Random();
-        //Maze maze = mazes[r.nextInt(5)];
-        Maze maze = mazes[0];
-
-        // Get fitness
-        Robot robot = new Robot(chromosome, maze, 100);
-        robot.run();
-        int fitness = maze.scoreRoute(robot.getRoute());
+        double fitness;
+        if (this.multiMaze) {
+            // Mean score over all the mazes, one after another
+            int sum = 0;
+            for (Maze maze : mazes) {
+                sum += this._score(individual, maze);
+            }
+            fitness = (double) sum / mazes.length;
+        } else {
+            fitness = this._score(individual, mazes[0]);
+        }
 
         // Store fitness
         individual.setFitness(fitness);
@@ -127,11 +145,106 @@ public class RobotController extends GeneticAlgorithm {
         return fitness;
     }
 
+    @Override
+    public void calcFitnessBatch(Individual[] individuals, int from, int to) {
+        if (this.multiMaze && ForkJoinTask.inForkJoinPool()) {
+            this._scoreMazesInPool(individuals, from, to);
+            return;
+        }
+
+        RobotBatch batch = this.batches.get();
+        int mazeCount = this.multiMaze ? mazes.length : 1;
+
+        for (int start = from; start < to; start += BATCH_SIZE) {
+            int end = Math.min(to, start + BATCH_SIZE);
+
+            // Scores summed in the fitness, in maze order
+            for (int maze = 0; maze < mazeCount; maze++) {
+                batch.run(individuals, start, end, mazes[maze]);
+                for (int i = start; i < end; i++) {
+                    double sum = (maze == 0) ? 0 : individuals[i].getFitness();
+                    individuals[i].setFitness(sum + batch.getScore(i - start));
+                }
+            }
+            if (mazeCount > 1) {
+                for (int i = start; i < end; i++) {
+                    individuals[i].setFitness(individuals[i].getFitness() / mazeCount);
+                }
+            }
+        }
+    }
+
+    /**
+     * Scores every block of controllers on every maze as a task of the pool
+     * running the evaluation. The calling task joins them by work stealing,
+     * as the parallel evaluation joins its ranges, so no thread of the pool
+     * waits idle. The scores are summed in maze order.
+     */
+    private void _scoreMazesInPool(Individual[] individuals, int from, int to) {
+        int count = to - from;
+        int blocks = (count + BATCH_SIZE - 1) / BATCH_SIZE;
+
+        // Scores of individual i on each maze are at maze * count + i - from
+        int[] scores = new int[mazes.length * count];
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[blocks * mazes.length];
+        for (int block = 0; block < blocks; block++) {
+            int start = from + block * BATCH_SIZE;
+            int end = Math.min(to, start + BATCH_SIZE);
+            for (int maze = 0; maze < mazes.length; maze++) {
+                int offset = maze * count - from;
+                Maze taskMaze = mazes[maze];
+                tasks[block * mazes.length + maze] = ForkJoinTask.adapt(() -> {
+                    RobotBatch batch = this.batches.get();
+                    batch.run(individuals, start, end, taskMaze);
+                    for (int i = start; i < end; i++) {
+                        scores[offset + i] = batch.getScore(i - start);
+                    }
+                });
+            }
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        for (int i = 0; i < count; i++) {
+            int sum = 0;
+            for (int maze = 0; maze < mazes.length; maze++) {
+                sum += scores[maze * count + i];
+            }
+            individuals[from + i].setFitness((double) sum / mazes.length);
+        }
+    }
+
+    private int _score(Individual individual, Maze maze) {
+        // Scored while the robot moves
+        Robot robot = this.robots.get();
+        robot.reset(individual, maze);
+        robot.run();
+        return robot.getScore();
+    }
+
+    /**
+     * @return true if the fitness is the mean score over all the mazes
+     */
+    public boolean isMultiMaze() {
+        return multiMaze;
+    }
+
+    /**
+     * @param multiMaze true to score each controller on all the mazes and
+     * take the mean score as its fitness; false to score it on the first maze
+     * only. Under the parallel evaluation every block of controllers is run
+     * on every maze as its own task of the pool.
+     */
+    public void setMultiMaze(boolean multiMaze) {
+        this.multiMaze = multiMaze;
+    }
+
     public static void main(String[] args) {
         RobotController rc = new RobotController(128);
         rc.setMaxGenerations(1000);
         rc.setParentSelector(ParentSelector.TOURNAMENT);
         rc.setCrossoverSelector(CrossoverSelector.TWO_POINT_CROSSOVER);
+        rc.setMultiMaze(true);
+        rc.setEvaluationSelector(EvaluationSelector.PARALLEL_EVALUATION);
         Individual best = rc.run();
 
         Maze maze = new Maze(new int[][]{
@@ -67,7 +67,7 @@ public class Main extends GeneticAlgorithm {
         for (int i = 0; i < individual.getChromosomeLength(); i++) {
             individual.setGene(i, i + 1);
         }
-        individual.shuffleChromosome();
+        individual.shuffleChromosome(this.getRandom());
     } 
 
     public static void main(String[] args) {
@@ -5,15 +5,20 @@
  */
 package main.unos;
 
+import es.pdsanchez.ai.ga.BinaryIndividual;
+import es.pdsanchez.ai.ga.ByteIndividual;
+import es.pdsanchez.ai.ga.DeltaFitness;
+import es.pdsanchez.ai.ga.GeneKernels;
 import es.pdsanchez.ai.ga.GeneticAlgorithm;
 import es.pdsanchez.ai.ga.Individual;
 import es.pdsanchez.ai.ga.Population;
+import es.pdsanchez.ai.ga.ShortIndividual;
 
 /**
  *
  * @author pdsanchez
  */
-public class Main extends GeneticAlgorithm {
+public class Main extends GeneticAlgorithm implements DeltaFitness {
 
     public Main(int chromosomeLength) {
         super(chromosomeLength);
@@ -21,7 +26,7 @@ public class Main extends GeneticAlgorithm {
 
     @Override
     public void populateChromosome(Individual individual) {
-        individual.randomizeBinaryChromosome();
+        individual.randomizeBinaryChromosome(this.getRandom());
     }
 
     @Override
@@ -31,11 +36,22 @@ public class Main extends GeneticAlgorithm {
         // Track number of correct genes
         int correctGenes = 0;
 
-        // Loop over individual's genes
-        for (int geneIndex = 0; geneIndex < chromosomeLength; geneIndex++) {
-            // Add one fitness point for each "1" found
-            if (individual.getGene(geneIndex) == 1) {
-                correctGenes += 1;
+        if (individual instanceof BinaryIndividual) {
+            // Count the 1s a word at a time
+            correctGenes = ((BinaryIndividual) individual).bitCount();
+        } else if (individual.getIntGenes() != null) {
+            correctGenes = GeneKernels.count(individual.getIntGenes(), 1);
+        } else if (individual instanceof ByteIndividual) {
+            correctGenes = GeneKernels.count(((ByteIndividual) individual).getGenes(), (byte) 1);
+        } else if (individual instanceof ShortIndividual) {
+            correctGenes = GeneKernels.count(((ShortIndividual) individual).getGenes(), (short) 1);
+        } else {
+            // Loop over individual's genes
+            for (int geneIndex = 0; geneIndex < chromosomeLength; geneIndex++) {
+                // Add one fitness point for each "1" found
+                if (individual.getGene(geneIndex) == 1) {
+                    correctGenes += 1;
+                }
             }
         }
 
@@ -49,13 +65,34 @@ public class Main extends GeneticAlgorithm {
     }
 
     @Override
-    public boolean isTerminationConditionMet(Population population, int generationsCount) {
-        for (Individual individual : population.getIndividuals()) {
-            if (individual.getFitness() == 1) {
-                return true;
+    public double calcFitnessDelta(Individual individual) {
+        int chromosomeLength = individual.getChromosomeLength();
+
+        // Start from the correct genes before the changes
+        long correctGenes = Math.round(individual.getFitness() * chromosomeLength);
+
+        for (int change = 0; change < individual.getChangeCount(); change++) {
+            if (individual.getPreviousGene(change) == 1) {
+                correctGenes -= 1;
+            }
+            if (individual.getNewGene(change) == 1) {
+                correctGenes += 1;
             }
         }
-        return false;
+
+        // Calculate fitness
+        double fitness = (double) correctGenes / chromosomeLength;
+
+        // Store fitness
+        individual.setFitness(fitness);
+
+        return fitness;
+    }
+
+    @Override
+    public boolean isTerminationConditionMet(Population population, int generationsCount) {
+        // Best fitness is gathered by the evaluation
+        return population.getBestFitness() == 1;
     }
 
     public static void main(String[] args) {
@@ -64,6 +101,7 @@ public class Main extends GeneticAlgorithm {
         Main ga = new Main(32);
         ga.setParentSelector(ParentSelector.TOURNAMENT);
         ga.setCrossoverSelector(CrossoverSelector.UNIFORM_CROSSOVER);
+        ga.setChromosomeSelector(ChromosomeSelector.BINARY_CHROMOSOME);
         ga.run();
     }
 }